@@ -0,0 +1,38 @@
+package com.github.pareronia.dmoj;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+
+/**
+ * Streams a reproducible input, in the judge's (non-sample) format, for one
+ * problem.
+ */
+public interface InputGenerator {
+
+    long DEFAULT_SEED = 42L;
+
+    void generate(long seed, InputWriter out);
+
+    default byte[] generate(final long seed) {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (InputWriter out = new InputWriter(baos)) {
+            generate(seed, out);
+        }
+        return baos.toByteArray();
+    }
+
+    /**
+     * Command line entry point: {@code [seed] [file]}, writing to standard
+     * output when no file is given.
+     */
+    static void run(final InputGenerator generator, final String[] args)
+            throws FileNotFoundException {
+        final long seed = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_SEED;
+        final OutputStream os = args.length > 1 ? new FileOutputStream(args[1]) : System.out;
+        try (InputWriter out = new InputWriter(os)) {
+            generator.generate(seed, out);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.pareronia.dmoj;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Buffered ASCII writer for generated inputs.
+ */
+public final class InputWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private final OutputStream out;
+    private final byte[] buf = new byte[BUFFER_SIZE];
+    private int pos = 0;
+
+    public InputWriter(final OutputStream out) {
+        this.out = out;
+    }
+
+    private void ensure(final int n) {
+        if (pos + n > BUFFER_SIZE) {
+            flush();
+        }
+    }
+
+    public void print(final char c) {
+        ensure(1);
+        buf[pos++] = (byte) c;
+    }
+
+    public void print(final String s) {
+        for (int j = 0; j < s.length(); j++) {
+            print(s.charAt(j));
+        }
+    }
+
+    public void print(final long l) {
+        ensure(20);
+        if (l < 0) {
+            buf[pos++] = '-';
+        }
+        long v = l < 0 ? l : -l;
+        final int start = pos;
+        do {
+            buf[pos++] = (byte) ('0' - v % 10);
+            v /= 10;
+        } while (v != 0);
+        for (int i = start, j = pos - 1; i < j; i++, j--) {
+            final byte t = buf[i];
+            buf[i] = buf[j];
+            buf[j] = t;
+        }
+    }
+
+    public void println() {
+        print('\n');
+    }
+
+    public void line(final long... values) {
+        for (int j = 0; j < values.length; j++) {
+            if (j > 0) {
+                print(' ');
+            }
+            print(values[j]);
+        }
+        println();
+    }
+
+    public void flush() {
+        try {
+            this.out.write(buf, 0, pos);
+            this.out.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        pos = 0;
+    }
+
+    @Override
+    public void close() {
+        flush();
+        try {
+            this.out.close();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
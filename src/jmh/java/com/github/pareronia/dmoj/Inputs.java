@@ -0,0 +1,54 @@
+package com.github.pareronia.dmoj;
+
+/**
+ * Max-constraint benchmark inputs, from each problem's {@code Generator}.
+ */
+final class Inputs {
+
+    private Inputs() {
+    }
+
+    public static byte[] maxConstraint(final String problem) {
+        return generator(problem).generate(InputGenerator.DEFAULT_SEED);
+    }
+
+    private static InputGenerator generator(final String problem) {
+        switch (problem) {
+        case "aac6p1":
+            return new com.github.pareronia.dmoj.aac6p1.Generator();
+        case "aac6p2":
+            return new com.github.pareronia.dmoj.aac6p2.Generator();
+        case "aac6p3":
+            return new com.github.pareronia.dmoj.aac6p3.Generator();
+        case "acc8p1":
+            return new com.github.pareronia.dmoj.acc8p1.Generator();
+        case "acc8p2":
+            return new com.github.pareronia.dmoj.acc8p2.Generator();
+        case "calendar1":
+            return new com.github.pareronia.dmoj.calendar1.Generator();
+        case "calendar2":
+            return new com.github.pareronia.dmoj.calendar2.Generator();
+        case "calendar3":
+            return new com.github.pareronia.dmoj.calendar3.Generator();
+        case "coci21c5p1":
+            return new com.github.pareronia.dmoj.coci21c5p1.Generator();
+        case "coci21c5p2":
+            return new com.github.pareronia.dmoj.coci21c5p2.Generator();
+        case "dmopc21c7p1":
+            // all blank, so the whole grid gets filled in
+            return new com.github.pareronia.dmoj.dmopc21c7p1.Generator(1000, 1000, 1.0);
+        case "dmopc21c7p2":
+            return new com.github.pareronia.dmoj.dmopc21c7p2.Generator();
+        case "factorialcalculator":
+            return new com.github.pareronia.dmoj.factorialcalculator.Generator();
+        case "fibonacci":
+            return new com.github.pareronia.dmoj.fibonacci.Generator();
+        case "olympics":
+            return new com.github.pareronia.dmoj.olympics.Generator();
+        case "yac2p1":
+            return new com.github.pareronia.dmoj.yac2p1.Generator();
+        default:
+            throw new IllegalArgumentException("Unknown problem: " + problem);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.pareronia.dmoj;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures {@code solve()} of every solution on an in-memory max-constraint
+ * input, with output going to a null sink.
+ * <p>
+ * Run with {@code -prof gc} (or through {@link #main(String[])}, which adds
+ * the gc profiler) to get the allocation rate next to the throughput, e.g.
+ * {@code gradle jmhJar && java -jar build/libs/dmoj-jmh.jar SolveBenchmark -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class SolveBenchmark {
+
+    @Param({
+        "aac6p1", "aac6p2", "aac6p3",
+        "acc8p1", "acc8p2",
+        "calendar1", "calendar2", "calendar3",
+        "coci21c5p1", "coci21c5p2",
+        "dmopc21c7p1", "dmopc21c7p2",
+        "factorialcalculator", "fibonacci", "olympics", "yac2p1"
+    })
+    public String problem;
+
+    private byte[] input;
+    private PrintStream out;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.input = Inputs.maxConstraint(this.problem);
+        this.out = new PrintStream(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void solve() {
+        solver(this.problem, new ByteArrayInputStream(this.input), this.out).run();
+    }
+
+    private static Runnable solver(
+            final String problem, final InputStream in, final PrintStream out) {
+        switch (problem) {
+        case "aac6p1":
+            return new com.github.pareronia.dmoj.aac6p1.Main(false, in, out)::solve;
+        case "aac6p2":
+            return new com.github.pareronia.dmoj.aac6p2.Main(false, in, out)::solve;
+        case "aac6p3":
+            return new com.github.pareronia.dmoj.aac6p3.Main(false, in, out)::solve;
+        case "acc8p1":
+            return new com.github.pareronia.dmoj.acc8p1.Main(false, in, out)::solve;
+        case "acc8p2":
+            return new com.github.pareronia.dmoj.acc8p2.Main(false, in, out)::solve;
+        case "calendar1":
+            return new com.github.pareronia.dmoj.calendar1.Main(false, in, out)::solve;
+        case "calendar2":
+            return new com.github.pareronia.dmoj.calendar2.Main(false, in, out)::solve;
+        case "calendar3":
+            return new com.github.pareronia.dmoj.calendar3.Main(false, in, out)::solve;
+        case "coci21c5p1":
+            return new com.github.pareronia.dmoj.coci21c5p1.Main(false, in, out)::solve;
+        case "coci21c5p2":
+            return new com.github.pareronia.dmoj.coci21c5p2.Main(false, in, out)::solve;
+        case "dmopc21c7p1":
+            return new com.github.pareronia.dmoj.dmopc21c7p1.Main(false, in, out)::solve;
+        case "dmopc21c7p2":
+            return new com.github.pareronia.dmoj.dmopc21c7p2.Main(false, in, out)::solve;
+        case "factorialcalculator":
+            return new com.github.pareronia.dmoj.factorialcalculator.Main(false, in, out)::solve;
+        case "fibonacci":
+            return new com.github.pareronia.dmoj.fibonacci.Main(false, in, out)::solve;
+        case "olympics":
+            return new com.github.pareronia.dmoj.olympics.Main(false, in, out)::solve;
+        case "yac2p1":
+            return new com.github.pareronia.dmoj.yac2p1.Betting(false, in, out)::solve;
+        default:
+            throw new IllegalArgumentException("Unknown problem: " + problem);
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(SolveBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.pareronia.dmoj.aac6p1;
+
+import java.io.FileNotFoundException;
+
+import com.github.pareronia.dmoj.InputGenerator;
+import com.github.pareronia.dmoj.InputWriter;
+
+/**
+ * n and k, both at their maximum by default.
+ */
+public final class Generator implements InputGenerator {
+
+    private final int n;
+    private final int k;
+
+    public Generator() {
+        this(1_000_000, 1_000_000);
+    }
+
+    public Generator(final int n, final int k) {
+        this.n = n;
+        this.k = k;
+    }
+
+    @Override
+    public void generate(final long seed, final InputWriter out) {
+        out.line(this.n, this.k);
+    }
+
+    public static void main(final String[] args) throws FileNotFoundException {
+        InputGenerator.run(new Generator(), args);
+    }
+}
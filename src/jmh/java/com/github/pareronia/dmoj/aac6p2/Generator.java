@@ -0,0 +1,38 @@
+package com.github.pareronia.dmoj.aac6p2;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+
+import com.github.pareronia.dmoj.InputGenerator;
+import com.github.pareronia.dmoj.InputWriter;
+
+/**
+ * n and q random (a, b) query pairs.
+ */
+public final class Generator implements InputGenerator {
+
+    private final int n;
+    private final int q;
+
+    public Generator() {
+        this(1_000_000, 1_000_000);
+    }
+
+    public Generator(final int n, final int q) {
+        this.n = n;
+        this.q = q;
+    }
+
+    @Override
+    public void generate(final long seed, final InputWriter out) {
+        final Random random = new Random(seed);
+        out.line(this.n, this.q);
+        for (int j = 0; j < this.q; j++) {
+            out.line(1 + random.nextInt(this.n), 1 + random.nextInt(this.n));
+        }
+    }
+
+    public static void main(final String[] args) throws FileNotFoundException {
+        InputGenerator.run(new Generator(), args);
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.pareronia.dmoj.aac6p3;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+
+import com.github.pareronia.dmoj.InputGenerator;
+import com.github.pareronia.dmoj.InputWriter;
+
+/**
+ * n values made of runs of equal values, each run at most maxRun long.
+ * By default a run can be as long as the whole array, the worst case for
+ * counting equal-value subarrays.
+ */
+public final class Generator implements InputGenerator {
+
+    private final int n;
+    private final int maxRun;
+
+    public Generator() {
+        this(1_000_000, 1_000_000);
+    }
+
+    public Generator(final int n, final int maxRun) {
+        this.n = n;
+        this.maxRun = maxRun;
+    }
+
+    @Override
+    public void generate(final long seed, final InputWriter out) {
+        final Random random = new Random(seed);
+        out.line(this.n);
+        int value = 0;
+        int left = 0;
+        for (int j = 0; j < this.n; j++) {
+            if (left == 0) {
+                left = 1 + random.nextInt(this.maxRun);
+                value = value + 1 + random.nextInt(1_000);
+            }
+            if (j > 0) {
+                out.print(' ');
+            }
+            out.print(value);
+            left--;
+        }
+        out.println();
+    }
+
+    public static void main(final String[] args) throws FileNotFoundException {
+        InputGenerator.run(new Generator(), args);
+    }
+}
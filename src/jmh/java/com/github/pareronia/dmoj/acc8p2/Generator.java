@@ -0,0 +1,45 @@
+package com.github.pareronia.dmoj.acc8p2;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+
+import com.github.pareronia.dmoj.InputGenerator;
+import com.github.pareronia.dmoj.InputWriter;
+
+/**
+ * t test cases of n random values each.
+ */
+public final class Generator implements InputGenerator {
+
+    private final int t;
+    private final int n;
+
+    public Generator() {
+        this(1, 1_000_000);
+    }
+
+    public Generator(final int t, final int n) {
+        this.t = t;
+        this.n = n;
+    }
+
+    @Override
+    public void generate(final long seed, final InputWriter out) {
+        final Random random = new Random(seed);
+        out.line(this.t);
+        for (int i = 0; i < this.t; i++) {
+            out.line(this.n, 1 + random.nextInt(1_000_000_000));
+            for (int j = 0; j < this.n; j++) {
+                if (j > 0) {
+                    out.print(' ');
+                }
+                out.print(1 + random.nextInt(1_000_000_000));
+            }
+            out.println();
+        }
+    }
+
+    public static void main(final String[] args) throws FileNotFoundException {
+        InputGenerator.run(new Generator(), args);
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.pareronia.dmoj.calendar2;
+
+import java.io.FileNotFoundException;
+import java.time.LocalDate;
+import java.util.Random;
+
+import com.github.pareronia.dmoj.InputGenerator;
+import com.github.pareronia.dmoj.InputWriter;
+
+/**
+ * t random ISO dates between the years 1000 and 2999.
+ */
+public final class Generator implements InputGenerator {
+
+    private static final long FROM = LocalDate.of(1000, 1, 1).toEpochDay();
+    private static final long TO = LocalDate.of(2999, 12, 31).toEpochDay();
+    private final int t;
+
+    public Generator() {
+        this(100_000);
+    }
+
+    public Generator(final int t) {
+        this.t = t;
+    }
+
+    @Override
+    public void generate(final long seed, final InputWriter out) {
+        final Random random = new Random(seed);
+        out.line(this.t);
+        for (int j = 0; j < this.t; j++) {
+            out.print(LocalDate.ofEpochDay(FROM + random.nextInt((int) (TO - FROM))).toString());
+            out.println();
+        }
+    }
+
+    public static void main(final String[] args) throws FileNotFoundException {
+        InputGenerator.run(new Generator(), args);
+    }
+}
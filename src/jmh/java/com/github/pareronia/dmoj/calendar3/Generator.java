@@ -0,0 +1,37 @@
+package com.github.pareronia.dmoj.calendar3;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+
+import com.github.pareronia.dmoj.InputGenerator;
+import com.github.pareronia.dmoj.InputWriter;
+
+/**
+ * t random Maya long count dates.
+ */
+public final class Generator implements InputGenerator {
+
+    private final int t;
+
+    public Generator() {
+        this(100_000);
+    }
+
+    public Generator(final int t) {
+        this.t = t;
+    }
+
+    @Override
+    public void generate(final long seed, final InputWriter out) {
+        final Random random = new Random(seed);
+        out.line(this.t);
+        for (int j = 0; j < this.t; j++) {
+            out.line(random.nextInt(20), random.nextInt(20), random.nextInt(20),
+                    random.nextInt(18), random.nextInt(20));
+        }
+    }
+
+    public static void main(final String[] args) throws FileNotFoundException {
+        InputGenerator.run(new Generator(), args);
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.pareronia.dmoj.coci21c5p1;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+
+import com.github.pareronia.dmoj.InputGenerator;
+import com.github.pareronia.dmoj.InputWriter;
+
+/**
+ * n random chemical equations.
+ */
+public final class Generator implements InputGenerator {
+
+    private final int n;
+
+    public Generator() {
+        this(100_000);
+    }
+
+    public Generator(final int n) {
+        this.n = n;
+    }
+
+    @Override
+    public void generate(final long seed, final InputWriter out) {
+        final Random random = new Random(seed);
+        out.line(this.n);
+        for (int j = 0; j < this.n; j++) {
+            formula(random, out);
+            out.print("->");
+            formula(random, out);
+            out.println();
+        }
+    }
+
+    private void formula(final Random random, final InputWriter out) {
+        final int molecules = 1 + random.nextInt(3);
+        for (int m = 0; m < molecules; m++) {
+            if (m > 0) {
+                out.print('+');
+            }
+            if (random.nextBoolean()) {
+                out.print(2 + random.nextInt(8));
+            }
+            final int elements = 1 + random.nextInt(3);
+            for (int e = 0; e < elements; e++) {
+                out.print((char) ('A' + random.nextInt(26)));
+                if (random.nextBoolean()) {
+                    out.print(2 + random.nextInt(8));
+                }
+            }
+        }
+    }
+
+    public static void main(final String[] args) throws FileNotFoundException {
+        InputGenerator.run(new Generator(), args);
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.pareronia.dmoj.coci21c5p2;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.github.pareronia.dmoj.InputGenerator;
+import com.github.pareronia.dmoj.InputWriter;
+
+/**
+ * An n x m grid with randomly planted (possibly overlapping) diamonds and
+ * a sprinkle of noise. Rows are produced one at a time, only the diamonds
+ * are kept in memory.
+ */
+public final class Generator implements InputGenerator {
+
+    private final int n;
+    private final int m;
+    private final int diamonds;
+    private final double noise;
+
+    public Generator() {
+        this(2000, 2000, 20_000, 0.01);
+    }
+
+    public Generator(final int n, final int m, final int diamonds, final double noise) {
+        this.n = n;
+        this.m = m;
+        this.diamonds = diamonds;
+        this.noise = noise;
+    }
+
+    @Override
+    public void generate(final long seed, final InputWriter out) {
+        final Random random = new Random(seed);
+        out.line(this.n, this.m);
+        final List<List<int[]>> byTop = new ArrayList<>(this.n);
+        for (int r = 0; r < this.n; r++) {
+            byTop.add(new ArrayList<>());
+        }
+        for (int j = 0; j < this.diamonds; j++) {
+            final int size = 1 + random.nextInt(Math.max(1, Math.min(this.n, this.m) / 40));
+            if (2 * size >= this.n || 2 * size >= this.m) {
+                continue;
+            }
+            final int top = random.nextInt(this.n - 2 * size);
+            final int col = size + random.nextInt(this.m - 2 * size);
+            byTop.get(top).add(new int[] { col, size });
+        }
+        final List<int[]> active = new ArrayList<>();
+        final char[] row = new char[this.m];
+        for (int r = 0; r < this.n; r++) {
+            for (int c = 0; c < this.m; c++) {
+                row[c] = random.nextDouble() < this.noise ? '#' : '.';
+            }
+            for (final int[] d : byTop.get(r)) {
+                active.add(new int[] { d[0], d[1], r });
+            }
+            byTop.set(r, null);
+            for (int j = active.size() - 1; j >= 0; j--) {
+                final int[] d = active.get(j);
+                final int col = d[0];
+                final int size = d[1];
+                final int dr = r - d[2];
+                final int w = dr <= size ? dr : 2 * size - dr;
+                row[col - w] = '#';
+                row[col + w] = '#';
+                if (dr == 2 * size) {
+                    active.set(j, active.get(active.size() - 1));
+                    active.remove(active.size() - 1);
+                }
+            }
+            out.print(new String(row));
+            out.println();
+        }
+    }
+
+    public static void main(final String[] args) throws FileNotFoundException {
+        InputGenerator.run(new Generator(), args);
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.pareronia.dmoj.dmopc21c7p1;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+
+import com.github.pareronia.dmoj.InputGenerator;
+import com.github.pareronia.dmoj.InputWriter;
+
+/**
+ * An n x m grid strictly increasing along rows and columns, with each cell
+ * blanked to 0 with the given probability. Only the previous row is kept.
+ */
+public final class Generator implements InputGenerator {
+
+    private final int n;
+    private final int m;
+    private final double blank;
+
+    public Generator() {
+        this(1000, 1000, 0.5);
+    }
+
+    public Generator(final int n, final int m, final double blank) {
+        this.n = n;
+        this.m = m;
+        this.blank = blank;
+    }
+
+    @Override
+    public void generate(final long seed, final InputWriter out) {
+        final Random random = new Random(seed);
+        out.line(this.n, this.m);
+        int[] prev = new int[this.m];
+        int[] curr = new int[this.m];
+        for (int r = 0; r < this.n; r++) {
+            for (int c = 0; c < this.m; c++) {
+                final int above = r > 0 ? prev[c] : 0;
+                final int left = c > 0 ? curr[c - 1] : 0;
+                curr[c] = Math.max(above, left) + 1 + random.nextInt(3);
+                if (c > 0) {
+                    out.print(' ');
+                }
+                out.print(random.nextDouble() < this.blank ? 0 : curr[c]);
+            }
+            out.println();
+            final int[] t = prev;
+            prev = curr;
+            curr = t;
+        }
+    }
+
+    public static void main(final String[] args) throws FileNotFoundException {
+        InputGenerator.run(new Generator(), args);
+    }
+}
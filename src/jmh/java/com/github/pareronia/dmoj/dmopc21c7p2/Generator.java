@@ -0,0 +1,95 @@
+package com.github.pareronia.dmoj.dmopc21c7p2;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+
+import com.github.pareronia.dmoj.InputGenerator;
+import com.github.pareronia.dmoj.InputWriter;
+
+/**
+ * n scarves and q valid (l, r, k) block moves of up to maxBlock scarves,
+ * found by replaying the moves on a linked list.
+ */
+public final class Generator implements InputGenerator {
+
+    private final int n;
+    private final int q;
+    private final int maxBlock;
+
+    public Generator() {
+        this(1_000_000, 100_000, 10);
+    }
+
+    public Generator(final int n, final int q, final int maxBlock) {
+        this.n = n;
+        this.q = q;
+        this.maxBlock = maxBlock;
+    }
+
+    @Override
+    public void generate(final long seed, final InputWriter out) {
+        final Random random = new Random(seed);
+        out.line(this.n, this.q);
+        final int[] prev = new int[this.n + 1];
+        final int[] next = new int[this.n + 1];
+        for (int j = 1; j <= this.n; j++) {
+            prev[j] = j == 1 ? 0 : j - 1;
+            next[j] = j == this.n ? 0 : j + 1;
+        }
+        int head = 1;
+        for (int j = 0; j < this.q; j++) {
+            int l;
+            int r;
+            do {
+                l = 1 + random.nextInt(this.n);
+                r = l;
+                for (int len = random.nextInt(this.maxBlock); len > 0 && next[r] != 0; len--) {
+                    r = next[r];
+                }
+            } while (prev[l] == 0 && next[r] == 0);
+            int k;
+            do {
+                k = random.nextInt(this.n + 1);
+            } while (k == 0 ? prev[l] == 0 : inBlock(next, l, r, k));
+            out.line(l, r, k);
+            // cut
+            if (prev[l] != 0) {
+                next[prev[l]] = next[r];
+            } else {
+                head = next[r];
+            }
+            if (next[r] != 0) {
+                prev[next[r]] = prev[l];
+            }
+            // paste
+            if (k == 0) {
+                prev[head] = r;
+                next[r] = head;
+                head = l;
+            } else {
+                final int after = next[k];
+                next[k] = l;
+                next[r] = after;
+                if (after != 0) {
+                    prev[after] = r;
+                }
+            }
+            prev[l] = k;
+        }
+    }
+
+    private static boolean inBlock(final int[] next, final int l, final int r, final int k) {
+        for (int c = l; ; c = next[c]) {
+            if (c == k) {
+                return true;
+            }
+            if (c == r) {
+                return false;
+            }
+        }
+    }
+
+    public static void main(final String[] args) throws FileNotFoundException {
+        InputGenerator.run(new Generator(), args);
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.pareronia.dmoj.dmopc21c7p2;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.pareronia.dmoj.InputGenerator;
+
+/**
+ * The list moves of {@link Main} at n = q = 10^6, on pre-parsed queries:
+ * the solver's {@link Main.LinkedSequence}, with flat {@code prev}/{@code next}
+ * arrays, against a copy of the old layout with one {@code int[2]} per node.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class LayoutBenchmark {
+
+    private static final int N = 1_000_000;
+    private static final int Q = 1_000_000;
+
+    private int[] queries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final byte[] input = new Generator(N, Q, 10).generate(InputGenerator.DEFAULT_SEED);
+        final String[] tokens = new String(input, StandardCharsets.US_ASCII).trim().split("\\s+");
+        this.queries = new int[3 * Q];
+        for (int j = 0; j < this.queries.length; j++) {
+            this.queries[j] = Integer.parseInt(tokens[2 + j]);
+        }
+    }
+
+    /**
+     * The pre-flat-array solver, kept here as the baseline.
+     */
+    @Benchmark
+    public int rows() {
+        final int[][] b = new int[N + 1][2];
+        for (int j = 1; j <= N; j++) {
+            b[j][0] = j - 1;
+            b[j][1] = j + 1;
+        }
+        b[1][0] = N;
+        b[N][1] = 1;
+        int head = 1;
+        for (int j = 0; j < this.queries.length; j += 3) {
+            final int l = this.queries[j];
+            final int r = this.queries[j + 1];
+            final int k = this.queries[j + 2];
+            final int[] start = b[l];
+            final int[] end = b[r];
+            b[start[0]][1] = end[1];
+            b[end[1]][0] = start[0];
+            if (k > 0) {
+                final int[] target = b[k];
+                if (l == head) {
+                    head = end[1];
+                }
+                b[target[1]][0] = r;
+                end[1] = target[1];
+                target[1] = l;
+                start[0] = k;
+            } else {
+                b[b[head][0]][1] = l;
+                b[l][0] = b[head][0];
+                b[head][0] = r;
+                end[1] = head;
+                head = l;
+            }
+        }
+        return checksum(head, c -> b[c][1]);
+    }
+
+    @Benchmark
+    public int flat() {
+        final Main.LinkedSequence scarves = new Main.LinkedSequence(N);
+        for (int j = 0; j < this.queries.length; j += 3) {
+            scarves.move(this.queries[j], this.queries[j + 1], this.queries[j + 2]);
+        }
+        return checksum(scarves.head(), scarves::next);
+    }
+
+    /**
+     * Walks the final order, which is also what the solver prints.
+     */
+    private static int checksum(final int head, final IntUnaryOperator next) {
+        int hash = 0;
+        int c = head;
+        do {
+            hash = 31 * hash + c;
+            c = next.applyAsInt(c);
+        } while (c != head);
+        return hash;
+    }
+}
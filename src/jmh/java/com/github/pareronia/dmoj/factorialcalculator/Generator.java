@@ -0,0 +1,31 @@
+package com.github.pareronia.dmoj.factorialcalculator;
+
+import java.io.FileNotFoundException;
+
+import com.github.pareronia.dmoj.InputGenerator;
+import com.github.pareronia.dmoj.InputWriter;
+
+/**
+ * A single n.
+ */
+public final class Generator implements InputGenerator {
+
+    private final int n;
+
+    public Generator() {
+        this(100_000);
+    }
+
+    public Generator(final int n) {
+        this.n = n;
+    }
+
+    @Override
+    public void generate(final long seed, final InputWriter out) {
+        out.line(this.n);
+    }
+
+    public static void main(final String[] args) throws FileNotFoundException {
+        InputGenerator.run(new Generator(), args);
+    }
+}
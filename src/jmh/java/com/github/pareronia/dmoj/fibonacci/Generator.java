@@ -0,0 +1,33 @@
+package com.github.pareronia.dmoj.fibonacci;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+
+import com.github.pareronia.dmoj.InputGenerator;
+import com.github.pareronia.dmoj.InputWriter;
+
+/**
+ * A single random n below the given bound.
+ */
+public final class Generator implements InputGenerator {
+
+    private final long bound;
+
+    public Generator() {
+        this(1_000_000_000_000_000_000L);
+    }
+
+    public Generator(final long bound) {
+        this.bound = bound;
+    }
+
+    @Override
+    public void generate(final long seed, final InputWriter out) {
+        final Random random = new Random(seed);
+        out.line((long) (random.nextDouble() * this.bound));
+    }
+
+    public static void main(final String[] args) throws FileNotFoundException {
+        InputGenerator.run(new Generator(), args);
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.pareronia.dmoj.olympics;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+
+import com.github.pareronia.dmoj.InputGenerator;
+import com.github.pareronia.dmoj.InputWriter;
+
+/**
+ * A single random (n, b, s, g) query.
+ */
+public final class Generator implements InputGenerator {
+
+    private final long bound;
+
+    public Generator() {
+        this(100_000_000_000_000_000L);
+    }
+
+    public Generator(final long bound) {
+        this.bound = bound;
+    }
+
+    @Override
+    public void generate(final long seed, final InputWriter out) {
+        final Random random = new Random(seed);
+        out.line((long) (random.nextDouble() * this.bound),
+                random.nextInt(1000), random.nextInt(1000), random.nextInt(1000));
+    }
+
+    public static void main(final String[] args) throws FileNotFoundException {
+        InputGenerator.run(new Generator(), args);
+    }
+}
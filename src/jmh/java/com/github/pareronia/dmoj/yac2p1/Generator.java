@@ -0,0 +1,40 @@
+package com.github.pareronia.dmoj.yac2p1;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+
+import com.github.pareronia.dmoj.InputGenerator;
+import com.github.pareronia.dmoj.InputWriter;
+
+/**
+ * t random bets (a, b, c, d) with a < b and c < d.
+ */
+public final class Generator implements InputGenerator {
+
+    private final int t;
+
+    public Generator() {
+        this(100_000);
+    }
+
+    public Generator(final int t) {
+        this.t = t;
+    }
+
+    @Override
+    public void generate(final long seed, final InputWriter out) {
+        final Random random = new Random(seed);
+        out.line(this.t);
+        for (int j = 0; j < this.t; j++) {
+            final int a = 1 + random.nextInt(1_000_000_000);
+            final int b = a + 1 + random.nextInt(Integer.MAX_VALUE - a);
+            final int c = 1 + random.nextInt(1_000_000_000);
+            final int d = c + 1 + random.nextInt(Integer.MAX_VALUE - c);
+            out.line(a, b, c, d);
+        }
+    }
+
+    public static void main(final String[] args) throws FileNotFoundException {
+        InputGenerator.run(new Generator(), args);
+    }
+}
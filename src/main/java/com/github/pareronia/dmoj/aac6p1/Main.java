@@ -1,14 +1,13 @@
 package com.github.pareronia.dmoj.aac6p1;
 
 import static java.util.Arrays.asList;
-import static java.util.stream.Collectors.joining;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.PrintStream;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
@@ -16,7 +15,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
-import java.util.StringTokenizer;
+import java.util.NoSuchElementException;
 
 /**
  * P1 - Workout Routine
@@ -25,12 +24,12 @@ import java.util.StringTokenizer;
 public class Main {
 
     private final InputStream in;
-    private final PrintStream out;
+    private final FastWriter out;
     
     public Main(
             final Boolean sample, final InputStream in, final PrintStream out) {
         this.in = in;
-        this.out = out;
+        this.out = new FastWriter(out);
     }
     
     private void handleTestCase(final Integer i, final FastScanner sc) {
@@ -54,9 +53,8 @@ public class Main {
             }
             a[n - 1] =  l;
         }
-        final String ans = Arrays.stream(a).boxed()
-                .map(Object::toString).collect(joining(" "));
-        this.out.println(ans);
+        this.out.printIntArray(a, ' ');
+        this.out.println();
     }
     
     public void solve() {
@@ -66,6 +64,7 @@ public class Main {
                 handleTestCase(i, sc);
             }
         }
+        this.out.flush();
     }
 
     public static void main(final String[] args) throws IOException, URISyntaxException {
@@ -122,36 +121,172 @@ public class Main {
     }
     
     private static final class FastScanner implements Closeable {
-        private final BufferedReader br;
-        private StringTokenizer st;
+        private static final int BUFFER_SIZE = 1 << 16;
+        private final InputStream in;
+        private final byte[] buf = new byte[BUFFER_SIZE];
+        private byte[] token = new byte[64];
+        private int ptr = 0;
+        private int len = 0;
         
         public FastScanner(final InputStream in) {
-            this.br = new BufferedReader(new InputStreamReader(in));
-            st = new StringTokenizer("");
+            this.in = in;
         }
         
-        public String next() {
-            while (!st.hasMoreTokens()) {
+        private int read() {
+            if (ptr == len) {
                 try {
-                    st = new StringTokenizer(br.readLine());
+                    len = this.in.read(buf, 0, BUFFER_SIZE);
                 } catch (final IOException e) {
                     throw new RuntimeException(e);
                 }
+                ptr = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
+            }
+            return buf[ptr++] & 0xff;
+        }
+        
+        private int skipWhitespace() {
+            int b = read();
+            while (b != -1 && b <= ' ') {
+                b = read();
+            }
+            if (b == -1) {
+                throw new NoSuchElementException();
+            }
+            return b;
+        }
+        
+        public String next() {
+            int b = skipWhitespace();
+            int n = 0;
+            while (b > ' ') {
+                if (n == token.length) {
+                    token = Arrays.copyOf(token, 2 * n);
+                }
+                token[n++] = (byte) b;
+                b = read();
             }
-            return st.nextToken();
+            return new String(token, 0, n);
         }
     
         public int nextInt() {
-            return Integer.parseInt(next());
+            int b = skipWhitespace();
+            final boolean negative = b == '-';
+            if (negative) {
+                b = read();
+            }
+            int ans = 0;
+            do {
+                if (b < '0' || b > '9') {
+                    throw new NumberFormatException();
+                }
+                ans = 10 * ans + (b - '0');
+                b = read();
+            } while (b > ' ');
+            return negative ? -ans : ans;
         }
-        
+
         @Override
         public void close() {
             try {
-                this.br.close();
+                this.in.close();
             } catch (final IOException e) {
                 // ignore
             }
         }
     }
+    
+    private static final class FastWriter implements Flushable {
+        private static final int BUFFER_SIZE = 1 << 16;
+        private static final byte[] NEWLINE = System.lineSeparator().getBytes();
+        private final OutputStream out;
+        private final byte[] buf = new byte[BUFFER_SIZE];
+        private int pos = 0;
+        
+        public FastWriter(final OutputStream out) {
+            this.out = out;
+        }
+        
+        private void ensure(final int n) {
+            if (pos + n > BUFFER_SIZE) {
+                flushBuffer();
+            }
+        }
+        
+        private void flushBuffer() {
+            try {
+                this.out.write(buf, 0, pos);
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+            pos = 0;
+        }
+        
+        private void write(final byte[] b) {
+            ensure(b.length);
+            if (b.length > BUFFER_SIZE) {
+                try {
+                    this.out.write(b);
+                } catch (final IOException e) {
+                    throw new RuntimeException(e);
+                }
+                return;
+            }
+            System.arraycopy(b, 0, buf, pos, b.length);
+            pos += b.length;
+        }
+        
+        public void print(final char c) {
+            ensure(1);
+            buf[pos++] = (byte) c;
+        }
+        
+        public void print(final int i) {
+            print((long) i);
+        }
+        
+        public void print(final long l) {
+            ensure(20);
+            if (l < 0) {
+                buf[pos++] = '-';
+            }
+            long v = l < 0 ? l : -l;
+            final int start = pos;
+            do {
+                buf[pos++] = (byte) ('0' - v % 10);
+                v /= 10;
+            } while (v != 0);
+            for (int i = start, j = pos - 1; i < j; i++, j--) {
+                final byte t = buf[i];
+                buf[i] = buf[j];
+                buf[j] = t;
+            }
+        }
+        
+        public void println() {
+            write(NEWLINE);
+        }
+        
+        public void printIntArray(final int[] a, final char separator) {
+            for (int j = 0; j < a.length; j++) {
+                if (j > 0) {
+                    print(separator);
+                }
+                print(a[j]);
+            }
+        }
+
+        @Override
+        public void flush() {
+            flushBuffer();
+            try {
+                this.out.flush();
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
 }
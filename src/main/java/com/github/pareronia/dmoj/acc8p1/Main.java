@@ -2,19 +2,18 @@ package com.github.pareronia.dmoj.acc8p1;
 
 import static java.util.Arrays.asList;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.PrintStream;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.List;
-import java.util.StringTokenizer;
+import java.util.NoSuchElementException;
 import java.util.function.Supplier;
 
 /**
@@ -117,38 +116,96 @@ public class Main {
     }
     
     private static final class FastScanner implements Closeable {
-        private final BufferedReader br;
-        private StringTokenizer st;
+        private static final int BUFFER_SIZE = 1 << 16;
+        private final InputStream in;
+        private final byte[] buf = new byte[BUFFER_SIZE];
+        private byte[] token = new byte[64];
+        private int ptr = 0;
+        private int len = 0;
         
         public FastScanner(final InputStream in) {
-            this.br = new BufferedReader(new InputStreamReader(in));
-            st = new StringTokenizer("");
+            this.in = in;
         }
         
-        public String next() {
-            while (!st.hasMoreTokens()) {
+        private int read() {
+            if (ptr == len) {
                 try {
-                    st = new StringTokenizer(br.readLine());
+                    len = this.in.read(buf, 0, BUFFER_SIZE);
                 } catch (final IOException e) {
                     throw new RuntimeException(e);
                 }
+                ptr = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
+            }
+            return buf[ptr++] & 0xff;
+        }
+        
+        private int skipWhitespace() {
+            int b = read();
+            while (b != -1 && b <= ' ') {
+                b = read();
+            }
+            if (b == -1) {
+                throw new NoSuchElementException();
             }
-            return st.nextToken();
+            return b;
+        }
+        
+        public String next() {
+            int b = skipWhitespace();
+            int n = 0;
+            while (b > ' ') {
+                if (n == token.length) {
+                    token = Arrays.copyOf(token, 2 * n);
+                }
+                token[n++] = (byte) b;
+                b = read();
+            }
+            return new String(token, 0, n);
         }
     
         public int nextInt() {
-            return Integer.parseInt(next());
+            int b = skipWhitespace();
+            final boolean negative = b == '-';
+            if (negative) {
+                b = read();
+            }
+            int ans = 0;
+            do {
+                if (b < '0' || b > '9') {
+                    throw new NumberFormatException();
+                }
+                ans = 10 * ans + (b - '0');
+                b = read();
+            } while (b > ' ');
+            return negative ? -ans : ans;
         }
         
         @SuppressWarnings("unused")
         public long nextLong() {
-            return Long.parseLong(next());
+            int b = skipWhitespace();
+            final boolean negative = b == '-';
+            if (negative) {
+                b = read();
+            }
+            long ans = 0;
+            do {
+                if (b < '0' || b > '9') {
+                    throw new NumberFormatException();
+                }
+                ans = 10 * ans + (b - '0');
+                b = read();
+            } while (b > ' ');
+            return negative ? -ans : ans;
         }
 
         @Override
         public void close() {
             try {
-                this.br.close();
+                this.in.close();
             } catch (final IOException e) {
                 // ignore
             }
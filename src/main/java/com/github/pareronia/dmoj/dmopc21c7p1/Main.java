@@ -1,22 +1,27 @@
 package com.github.pareronia.dmoj.dmopc21c7p1;
 
 import static java.util.Arrays.asList;
-import static java.util.stream.Collectors.joining;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.PrintStream;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.List;
-import java.util.StringTokenizer;
+import java.util.NoSuchElementException;
 
 /**
  * P1 - Chika Grids
@@ -25,45 +30,52 @@ import java.util.StringTokenizer;
 public class Main {
 
     private final InputStream in;
-    private final PrintStream out;
+    private final FastWriter out;
     
     public Main(
             final Boolean sample, final InputStream in, final PrintStream out) {
         this.in = in;
-        this.out = out;
+        this.out = new FastWriter(out);
     }
     
     private void handleTestCase(final Integer i, final FastScanner sc) {
         final int n = sc.nextInt();
         final int m = sc.nextInt();
-        final int[][] ans = new int[n][m];
-        for (int j = 0; j < n; j++) {
-            ans[j] = sc.nextIntArray(m);
+        // rows are only printed once the whole grid is known to be valid
+        try (final Spool spool = new Spool()) {
+            fill(n, m, sc, spool);
         }
+    }
+    
+    private void fill(final int n, final int m, final FastScanner sc, final Spool spool) {
+        final FastWriter rows = new FastWriter(spool);
+        int[] prev = new int[m];
+        int[] row = new int[m];
         for (int j = 0; j < n; j++) {
             for (int k = 0; k < m; k++) {
-                final int prevr = ans[Math.max(0, j - 1)][k];
-                final int prevc = ans[j][Math.max(0, k - 1)];
-                if (ans[j][k] != 0) {
-                    if (ans[j][k] <= prevc || ans[j][k] <= prevr) {
+                final int value = sc.nextInt();
+                // the first row and column are compared with the cell itself
+                final int prevr = j > 0 ? prev[k] : value;
+                final int prevc = k > 0 ? row[k - 1] : value;
+                if (value != 0) {
+                    if (value <= prevc || value <= prevr) {
+                        sc.skip((long) (n - j) * m - k - 1);
                         this.out.println(-1);
                         return;
                     }
+                    row[k] = value;
                 } else {
-                    final int v = Math.max(prevr, prevc) + 1;
-                    ans[j][k] = v;
+                    row[k] = Math.max(prevr, prevc) + 1;
                 }
             }
+            rows.printIntArray(row, ' ');
+            rows.println();
+            final int[] tmp = prev;
+            prev = row;
+            row = tmp;
         }
-        printGrid(ans);
-    }
-    
-    private void printGrid(final int[][] grid) {
-        Arrays.stream(grid).forEach(r ->
-                this.out.println(Arrays.stream(r)
-                        .mapToObj(Integer::valueOf)
-                        .map(String::valueOf)
-                        .collect(joining(" "))));
+        rows.flush();
+        this.out.print(spool);
     }
     
     public void solve() {
@@ -73,6 +85,7 @@ public class Main {
                 handleTestCase(i, sc);
             }
         }
+        this.out.flush();
     }
 
     public static void main(final String[] args) throws IOException, URISyntaxException {
@@ -86,7 +99,9 @@ public class Main {
             out = new PrintStream(baos, true);
             timerStart = System.nanoTime();
         } else {
-            is = System.in;
+            is = isMapped()
+                    ? new FileInputStream(System.getProperty("dmoj.input"))
+                    : System.in;
             out = System.out;
         }
         
@@ -128,30 +143,209 @@ public class Main {
         }
     }
     
+    private static boolean isMapped() {
+        try {
+            return System.getProperty("dmoj.input") != null;
+        } catch (final SecurityException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Output held back until it is known to be wanted. It stays in memory up
+     * to {@link #SPILL} bytes and then goes to a temporary file, deleted on
+     * close, which is sent on with {@link FileChannel#transferTo}. If no
+     * file can be created it all stays in memory.
+     */
+    private static final class Spool extends OutputStream {
+        private static final int SPILL = 1 << 20;
+        private final ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        private FileChannel file;
+        private final byte[] one = new byte[1];
+        private boolean canSpill = true;
+        
+        @Override
+        public void write(final int b) throws IOException {
+            if (this.file == null && (!this.canSpill || this.memory.size() < SPILL)) {
+                this.memory.write(b);
+                return;
+            }
+            this.one[0] = (byte) b;
+            write(this.one, 0, 1);
+        }
+        
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (this.file == null && this.canSpill && this.memory.size() + len > SPILL) {
+                spill();
+            }
+            if (this.file != null) {
+                final ByteBuffer buf = ByteBuffer.wrap(b, off, len);
+                while (buf.hasRemaining()) {
+                    this.file.write(buf);
+                }
+            } else {
+                this.memory.write(b, off, len);
+            }
+        }
+        
+        private void spill() throws IOException {
+            try {
+                final Path path = Files.createTempFile("dmopc21c7p1", ".out");
+                this.file = FileChannel.open(path,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.DELETE_ON_CLOSE);
+            } catch (final IOException | SecurityException | UnsupportedOperationException e) {
+                this.canSpill = false;
+                return;
+            }
+            final ByteBuffer buf = ByteBuffer.wrap(this.memory.toByteArray());
+            while (buf.hasRemaining()) {
+                this.file.write(buf);
+            }
+            this.memory.reset();
+        }
+        
+        public void transferTo(final OutputStream out) throws IOException {
+            if (this.file == null) {
+                this.memory.writeTo(out);
+                return;
+            }
+            final WritableByteChannel target = Channels.newChannel(out);
+            final long size = this.file.size();
+            long position = 0;
+            while (position < size) {
+                position += this.file.transferTo(position, size - position, target);
+            }
+        }
+        
+        @Override
+        public void close() {
+            if (this.file != null) {
+                try {
+                    this.file.close();
+                } catch (final IOException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+    
     private static final class FastScanner implements Closeable {
-        private final BufferedReader br;
-        private StringTokenizer st;
+        private static final int BUFFER_SIZE = 1 << 16;
+        private final InputStream in;
+        private final FileChannel channel;
+        private final byte[] buf = new byte[BUFFER_SIZE];
+        private ByteBuffer mapped;
+        private byte[] token = new byte[64];
+        private long position = 0;
+        private int ptr = 0;
+        private int len = 0;
         
         public FastScanner(final InputStream in) {
-            this.br = new BufferedReader(new InputStreamReader(in));
-            st = new StringTokenizer("");
+            this.in = in;
+            if (in instanceof FileInputStream && isMapped()) {
+                this.channel = ((FileInputStream) in).getChannel();
+                this.mapped = ByteBuffer.allocate(0);
+            } else {
+                this.channel = null;
+            }
+        }
+        
+        /**
+         * Refills {@code buf} from the stream or, in mapped mode, in bulk from
+         * the current window of the file, mapping the next one as needed.
+         */
+        private boolean fill() {
+            try {
+                if (this.channel != null) {
+                    if (!mapped.hasRemaining()) {
+                        final long size = this.channel.size();
+                        if (position >= size) {
+                            return false;
+                        }
+                        final long length = Math.min(size - position, Integer.MAX_VALUE);
+                        mapped = this.channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                        position += length;
+                    }
+                    len = Math.min(BUFFER_SIZE, mapped.remaining());
+                    mapped.get(buf, 0, len);
+                } else {
+                    len = this.in.read(buf, 0, BUFFER_SIZE);
+                    if (len <= 0) {
+                        len = 0;
+                        return false;
+                    }
+                }
+                ptr = 0;
+                return true;
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        
+        private int read() {
+            if (ptr == len && !fill()) {
+                return -1;
+            }
+            return buf[ptr++] & 0xff;
+        }
+        
+        private int skipWhitespace() {
+            int b = read();
+            while (b != -1 && b <= ' ') {
+                b = read();
+            }
+            if (b == -1) {
+                throw new NoSuchElementException();
+            }
+            return b;
         }
         
         public String next() {
-            while (!st.hasMoreTokens()) {
-                try {
-                    st = new StringTokenizer(br.readLine());
-                } catch (final IOException e) {
-                    throw new RuntimeException(e);
+            int b = skipWhitespace();
+            int n = 0;
+            while (b > ' ') {
+                if (n == token.length) {
+                    token = Arrays.copyOf(token, 2 * n);
                 }
+                token[n++] = (byte) b;
+                b = read();
             }
-            return st.nextToken();
+            return new String(token, 0, n);
         }
     
         public int nextInt() {
-            return Integer.parseInt(next());
+            int b = skipWhitespace();
+            final boolean negative = b == '-';
+            if (negative) {
+                b = read();
+            }
+            int ans = 0;
+            do {
+                if (b < '0' || b > '9') {
+                    throw new NumberFormatException();
+                }
+                ans = 10 * ans + (b - '0');
+                b = read();
+            } while (b > ' ');
+            return negative ? -ans : ans;
         }
         
+        /**
+         * Skips the next {@code count} tokens.
+         */
+        public void skip(final long count) {
+            for (long j = 0; j < count; j++) {
+                int b = skipWhitespace();
+                while (b > ' ') {
+                    b = read();
+                }
+            }
+        }
+        
+        @SuppressWarnings("unused")
         public int[] nextIntArray(final int n) {
             final int[] a = new int[n];
             for (int j = 0; j < n; j++) {
@@ -163,10 +357,126 @@ public class Main {
         @Override
         public void close() {
             try {
-                this.br.close();
+                this.in.close();
             } catch (final IOException e) {
                 // ignore
             }
         }
     }
+    
+    private static final class FastWriter implements Flushable {
+        private static final int BUFFER_SIZE = 1 << 16;
+        private static final byte[] NEWLINE = System.lineSeparator().getBytes();
+        private final OutputStream out;
+        private final byte[] buf = new byte[BUFFER_SIZE];
+        private int pos = 0;
+        
+        public FastWriter(final OutputStream out) {
+            this.out = out;
+        }
+        
+        private void ensure(final int n) {
+            if (pos + n > BUFFER_SIZE) {
+                flushBuffer();
+            }
+        }
+        
+        private void flushBuffer() {
+            try {
+                this.out.write(buf, 0, pos);
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+            pos = 0;
+        }
+        
+        private void write(final byte[] b) {
+            ensure(b.length);
+            if (b.length > BUFFER_SIZE) {
+                try {
+                    this.out.write(b);
+                } catch (final IOException e) {
+                    throw new RuntimeException(e);
+                }
+                return;
+            }
+            System.arraycopy(b, 0, buf, pos, b.length);
+            pos += b.length;
+        }
+        
+        public void print(final char c) {
+            ensure(1);
+            buf[pos++] = (byte) c;
+        }
+        
+        public void print(final int i) {
+            print((long) i);
+        }
+        
+        public void print(final long l) {
+            ensure(20);
+            if (l < 0) {
+                buf[pos++] = '-';
+            }
+            long v = l < 0 ? l : -l;
+            final int start = pos;
+            do {
+                buf[pos++] = (byte) ('0' - v % 10);
+                v /= 10;
+            } while (v != 0);
+            for (int i = start, j = pos - 1; i < j; i++, j--) {
+                final byte t = buf[i];
+                buf[i] = buf[j];
+                buf[j] = t;
+            }
+        }
+        
+        public void println() {
+            write(NEWLINE);
+        }
+        
+        public void println(final int i) {
+            print(i);
+            println();
+        }
+        
+        public void printIntArray(final int[] a, final char separator) {
+            for (int j = 0; j < a.length; j++) {
+                if (j > 0) {
+                    print(separator);
+                }
+                print(a[j]);
+            }
+        }
+        
+        @SuppressWarnings("unused")
+        public void printGrid(final int[][] grid) {
+            for (final int[] row : grid) {
+                printIntArray(row, ' ');
+                println();
+            }
+        }
+
+        /**
+         * Writes out what {@code spool} holds, after anything already buffered.
+         */
+        public void print(final Spool spool) {
+            flushBuffer();
+            try {
+                spool.transferTo(this.out);
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public void flush() {
+            flushBuffer();
+            try {
+                this.out.flush();
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
 }
@@ -2,19 +2,20 @@ package com.github.pareronia.dmoj.dmopc21c7p2;
 
 import static java.util.Arrays.asList;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.PrintStream;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.List;
-import java.util.StringTokenizer;
+import java.util.NoSuchElementException;
 
 /**
  * P2 - Knitting Scarves
@@ -23,69 +24,289 @@ import java.util.StringTokenizer;
 public class Main {
 
     private final InputStream in;
-    private final PrintStream out;
+    private final FastWriter out;
     
     public Main(
             final Boolean sample, final InputStream in, final PrintStream out) {
         this.in = in;
-        this.out = out;
+        this.out = new FastWriter(out);
     }
     
     private void handleTestCase(final Integer i, final FastScanner sc) {
         final int n = sc.nextInt();
         final int q = sc.nextInt();
-        final int[][] b = new int [n + 1][2];
-        int bhead = 1;
-        b[1] = new int[] { -1, -1 };
-        int bprev = 1;
-        for (int j = 2; j < n; j++) {
-            b[j] = new int[] { -1, -1 };
-            b[j][0] = bprev;
-            b[bprev][1] = j;
-            bprev = j;
-        }
-        b[n] = new int[] { -1, -1 };
-        b[n][0] = bprev;
-        b[bprev][1] = n;
-        b[n][1] = 1;
-        b[1][0] = n;
+        final LinkedSequence scarves = new LinkedSequence(n);
+        final ImplicitTreap check = isSample() ? new ImplicitTreap(n) : null;
         for (int j = 0; j < q; j++) {
             final int l = sc.nextInt();
             final int r = sc.nextInt();
             final int k = sc.nextInt();
-            final int[] bstart = b[l];
-            final int[] bend = b[r];
-            b[bstart[0]][1] = bend[1];
-            b[bend[1]][0] = bstart[0];
-            if (k > 0) {
-                final int[] btarget = b[k];
-                if (l == bhead) {
-                    bhead = bend[1];
-                }
-                b[btarget[1]][0] = r;
-                bend[1] = btarget[1];
-                btarget[1] = l;
-                bstart[0] = k;
-            } else {
-                b[b[bhead][0]][1] = l;
-                b[l][0] = b[bhead][0];
-                b[bhead][0] = r;
-                bend[1] = bhead;
-                bhead = l;
+            scarves.move(l, r, k);
+            if (check != null) {
+                final int piece = check.cut(check.indexOf(l), check.indexOf(r));
+                check.paste(piece, k > 0 ? check.indexOf(k) + 1 : 0);
             }
         }
-        int c = bhead;
+        if (check != null && !Arrays.equals(scarves.toArray(), check.toArray())) {
+            throw new AssertionError(String.format(
+                    "Expected %s, got %s",
+                    Arrays.toString(check.toArray()),
+                    Arrays.toString(scarves.toArray())));
+        }
+        final int head = scarves.head();
+        int c = head;
         while (true) {
             this.out.print(c);
-            c = b[c][1];
-            if (c == bhead) {
+            c = scarves.next(c);
+            if (c == head) {
                 break;
             }
-            this.out.print(" ");
+            this.out.print(' ');
         }
         this.out.println();
     }
     
+    /**
+     * The sequence 1..n as a circular doubly-linked list of node ids, held
+     * in flat arrays. A run of nodes, given by the ids at its ends, is cut
+     * and pasted in O(1). Package-private for the layout benchmark.
+     */
+    static final class LinkedSequence {
+        private final int[] prev;
+        private final int[] next;
+        private int head;
+        
+        public LinkedSequence(final int n) {
+            this.prev = new int[n + 1];
+            this.next = new int[n + 1];
+            for (int j = 1; j <= n; j++) {
+                this.prev[j] = j - 1;
+                this.next[j] = j + 1;
+            }
+            this.prev[1] = n;
+            this.next[n] = 1;
+            this.head = 1;
+        }
+        
+        public int head() {
+            return this.head;
+        }
+        
+        public int next(final int id) {
+            return this.next[id];
+        }
+        
+        @SuppressWarnings("unused")
+        public int prev(final int id) {
+            return this.prev[id];
+        }
+        
+        /**
+         * Moves the run {@code from..to} to just after {@code after}, or to
+         * the front when {@code after} is 0.
+         */
+        public void move(final int from, final int to, final int after) {
+            cut(from, to);
+            if (after > 0) {
+                if (from == this.head) {
+                    this.head = this.next[to];
+                }
+                pasteAfter(after, from, to);
+            } else {
+                pasteFront(from, to);
+            }
+        }
+        
+        /**
+         * Unlinks the run {@code from..to}; its ends keep their outer links
+         * until it is pasted back.
+         */
+        public void cut(final int from, final int to) {
+            this.next[this.prev[from]] = this.next[to];
+            this.prev[this.next[to]] = this.prev[from];
+        }
+        
+        public void pasteAfter(final int after, final int from, final int to) {
+            this.prev[this.next[after]] = to;
+            this.next[to] = this.next[after];
+            this.next[after] = from;
+            this.prev[from] = after;
+        }
+        
+        public void pasteFront(final int from, final int to) {
+            this.next[this.prev[this.head]] = from;
+            this.prev[from] = this.prev[this.head];
+            this.prev[this.head] = to;
+            this.next[to] = this.head;
+            this.head = from;
+        }
+        
+        public int[] toArray() {
+            final int[] ans = new int[this.next.length - 1];
+            int c = this.head;
+            for (int j = 0; j < ans.length; j++) {
+                ans[j] = c;
+                c = this.next[c];
+            }
+            return ans;
+        }
+    }
+    
+    /**
+     * The sequence 1..n as an implicit treap, where node ids are the
+     * elements and positions are 0-based indices. Ranges are cut and pasted
+     * by index in O(log n) expected; parent links give the index of an id.
+     */
+    private static final class ImplicitTreap {
+        private final int[] left;
+        private final int[] right;
+        private final int[] parent;
+        private final int[] size;
+        private final int[] priority;
+        private int root;
+        private int splitLeft;
+        private int splitRight;
+        
+        public ImplicitTreap(final int n) {
+            this.left = new int[n + 1];
+            this.right = new int[n + 1];
+            this.parent = new int[n + 1];
+            this.size = new int[n + 1];
+            this.priority = new int[n + 1];
+            int seed = 0x9E3779B9;
+            for (int j = 1; j <= n; j++) {
+                seed ^= seed << 13;
+                seed ^= seed >>> 17;
+                seed ^= seed << 5;
+                this.priority[j] = seed;
+            }
+            // Cartesian tree over 1..n in one pass, keeping the right spine
+            final int[] spine = new int[n + 1];
+            int top = 0;
+            for (int j = 1; j <= n; j++) {
+                int last = 0;
+                while (top > 0 && this.priority[spine[top - 1]] < this.priority[j]) {
+                    last = spine[--top];
+                    update(last);
+                }
+                this.left[j] = last;
+                if (top > 0) {
+                    this.right[spine[top - 1]] = j;
+                }
+                spine[top++] = j;
+            }
+            while (top > 0) {
+                update(spine[--top]);
+            }
+            this.root = spine[0];
+            this.parent[this.root] = 0;
+        }
+        
+        @SuppressWarnings("unused")
+        public int size() {
+            return this.size[this.root];
+        }
+        
+        public int indexOf(final int id) {
+            int index = this.size[this.left[id]];
+            for (int c = id; this.parent[c] != 0; c = this.parent[c]) {
+                final int p = this.parent[c];
+                if (this.right[p] == c) {
+                    index += this.size[this.left[p]] + 1;
+                }
+            }
+            return index;
+        }
+        
+        /**
+         * Detaches the elements at indices {@code from..to} and returns the
+         * root of the piece, for {@link #paste(int, int)}.
+         */
+        public int cut(final int from, final int to) {
+            split(this.root, to + 1);
+            final int rest = this.splitRight;
+            split(this.splitLeft, from);
+            final int piece = this.splitRight;
+            this.root = merge(this.splitLeft, rest);
+            this.parent[this.root] = 0;
+            this.parent[piece] = 0;
+            return piece;
+        }
+        
+        /**
+         * Inserts a piece from {@link #cut(int, int)} so that it starts at
+         * index {@code at}.
+         */
+        public void paste(final int piece, final int at) {
+            split(this.root, at);
+            final int rest = this.splitRight;
+            this.root = merge(merge(this.splitLeft, piece), rest);
+            this.parent[this.root] = 0;
+        }
+        
+        public int[] toArray() {
+            final int[] ans = new int[this.size[this.root]];
+            final int[] stack = new int[ans.length];
+            int top = 0;
+            int j = 0;
+            int c = this.root;
+            while (c != 0 || top > 0) {
+                while (c != 0) {
+                    stack[top++] = c;
+                    c = this.left[c];
+                }
+                c = stack[--top];
+                ans[j++] = c;
+                c = this.right[c];
+            }
+            return ans;
+        }
+        
+        private void update(final int t) {
+            this.size[t] = 1 + this.size[this.left[t]] + this.size[this.right[t]];
+            this.parent[this.left[t]] = t;
+            this.parent[this.right[t]] = t;
+        }
+        
+        private int merge(final int a, final int b) {
+            if (a == 0 || b == 0) {
+                return a | b;
+            }
+            if (this.priority[a] > this.priority[b]) {
+                this.right[a] = merge(this.right[a], b);
+                update(a);
+                return a;
+            } else {
+                this.left[b] = merge(a, this.left[b]);
+                update(b);
+                return b;
+            }
+        }
+        
+        /**
+         * The first k elements of t into {@code splitLeft}, the rest into
+         * {@code splitRight}.
+         */
+        private void split(final int t, final int k) {
+            if (t == 0) {
+                this.splitLeft = 0;
+                this.splitRight = 0;
+                return;
+            }
+            if (this.size[this.left[t]] < k) {
+                split(this.right[t], k - this.size[this.left[t]] - 1);
+                this.right[t] = this.splitLeft;
+                update(t);
+                this.splitLeft = t;
+            } else {
+                split(this.left[t], k);
+                this.left[t] = this.splitRight;
+                update(t);
+                this.splitRight = t;
+            }
+        }
+    }
+    
     public void solve() {
         try (final FastScanner sc = new FastScanner(this.in)) {
             final int numberOfTestCases = isSample() ? sc.nextInt() : 1;
@@ -93,6 +314,7 @@ public class Main {
                 handleTestCase(i, sc);
             }
         }
+        this.out.flush();
     }
 
     public static void main(final String[] args) throws IOException, URISyntaxException {
@@ -149,36 +371,163 @@ public class Main {
     }
     
     private static final class FastScanner implements Closeable {
-        private final BufferedReader br;
-        private StringTokenizer st;
+        private static final int BUFFER_SIZE = 1 << 16;
+        private final InputStream in;
+        private final byte[] buf = new byte[BUFFER_SIZE];
+        private byte[] token = new byte[64];
+        private int ptr = 0;
+        private int len = 0;
         
         public FastScanner(final InputStream in) {
-            this.br = new BufferedReader(new InputStreamReader(in));
-            st = new StringTokenizer("");
+            this.in = in;
         }
         
-        public String next() {
-            while (!st.hasMoreTokens()) {
+        private int read() {
+            if (ptr == len) {
                 try {
-                    st = new StringTokenizer(br.readLine());
+                    len = this.in.read(buf, 0, BUFFER_SIZE);
                 } catch (final IOException e) {
                     throw new RuntimeException(e);
                 }
+                ptr = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
+            }
+            return buf[ptr++] & 0xff;
+        }
+        
+        private int skipWhitespace() {
+            int b = read();
+            while (b != -1 && b <= ' ') {
+                b = read();
+            }
+            if (b == -1) {
+                throw new NoSuchElementException();
+            }
+            return b;
+        }
+        
+        public String next() {
+            int b = skipWhitespace();
+            int n = 0;
+            while (b > ' ') {
+                if (n == token.length) {
+                    token = Arrays.copyOf(token, 2 * n);
+                }
+                token[n++] = (byte) b;
+                b = read();
             }
-            return st.nextToken();
+            return new String(token, 0, n);
         }
     
         public int nextInt() {
-            return Integer.parseInt(next());
+            int b = skipWhitespace();
+            final boolean negative = b == '-';
+            if (negative) {
+                b = read();
+            }
+            int ans = 0;
+            do {
+                if (b < '0' || b > '9') {
+                    throw new NumberFormatException();
+                }
+                ans = 10 * ans + (b - '0');
+                b = read();
+            } while (b > ' ');
+            return negative ? -ans : ans;
         }
-        
+
         @Override
         public void close() {
             try {
-                this.br.close();
+                this.in.close();
             } catch (final IOException e) {
                 // ignore
             }
         }
     }
+    
+    private static final class FastWriter implements Flushable {
+        private static final int BUFFER_SIZE = 1 << 16;
+        private static final byte[] NEWLINE = System.lineSeparator().getBytes();
+        private final OutputStream out;
+        private final byte[] buf = new byte[BUFFER_SIZE];
+        private int pos = 0;
+        
+        public FastWriter(final OutputStream out) {
+            this.out = out;
+        }
+        
+        private void ensure(final int n) {
+            if (pos + n > BUFFER_SIZE) {
+                flushBuffer();
+            }
+        }
+        
+        private void flushBuffer() {
+            try {
+                this.out.write(buf, 0, pos);
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+            pos = 0;
+        }
+        
+        private void write(final byte[] b) {
+            ensure(b.length);
+            if (b.length > BUFFER_SIZE) {
+                try {
+                    this.out.write(b);
+                } catch (final IOException e) {
+                    throw new RuntimeException(e);
+                }
+                return;
+            }
+            System.arraycopy(b, 0, buf, pos, b.length);
+            pos += b.length;
+        }
+        
+        public void print(final char c) {
+            ensure(1);
+            buf[pos++] = (byte) c;
+        }
+        
+        public void print(final int i) {
+            print((long) i);
+        }
+        
+        public void print(final long l) {
+            ensure(20);
+            if (l < 0) {
+                buf[pos++] = '-';
+            }
+            long v = l < 0 ? l : -l;
+            final int start = pos;
+            do {
+                buf[pos++] = (byte) ('0' - v % 10);
+                v /= 10;
+            } while (v != 0);
+            for (int i = start, j = pos - 1; i < j; i++, j--) {
+                final byte t = buf[i];
+                buf[i] = buf[j];
+                buf[j] = t;
+            }
+        }
+        
+        public void println() {
+            write(NEWLINE);
+        }
+
+        @Override
+        public void flush() {
+            flushBuffer();
+            try {
+                this.out.flush();
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
 }
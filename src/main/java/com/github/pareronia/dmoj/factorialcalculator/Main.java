@@ -2,12 +2,10 @@ package com.github.pareronia.dmoj.factorialcalculator;
 
 import static java.util.Arrays.asList;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.PrintStream;
 import java.math.BigInteger;
 import java.net.URISyntaxException;
@@ -17,11 +15,17 @@ import java.nio.file.Paths;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.StringTokenizer;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
 /**
@@ -30,9 +34,14 @@ import java.util.function.Supplier;
  */
 public class Main {
 
+    private static final int CHECKPOINT_EVERY = 10_000;
+    private static final long CACHE_BUDGET = 64L << 20;
+
     private final boolean sample;
     private final InputStream in;
     private final PrintStream out;
+    private final Factorial.Cache cache
+            = new Factorial.Cache(CHECKPOINT_EVERY, CACHE_BUDGET);
     
     public Main(
             final Boolean sample, final InputStream in, final PrintStream out) {
@@ -49,8 +58,51 @@ public class Main {
         System.out.println(supplier.get());
     }
 
+    private static class Modular {
+        
+        /**
+         * Multiplication of already reduced operands, {@code 0 <= a, b < mod}.
+         * The full 128-bit product is reduced when it does not fit in a long.
+         */
+        public static long multiplyReduced(final long a, final long b, final long mod) {
+            if (mod <= 1L << 31) {
+                return a * b % mod;
+            }
+            return reduce(Math.multiplyHigh(a, b), a * b, mod);
+        }
+        
+        public static long power(final long a, final long exponent, final long mod) {
+            long ans = 1 % mod;
+            long base = a;
+            for (long e = exponent; e > 0; e >>= 1) {
+                if ((e & 1) == 1) {
+                    ans = multiplyReduced(ans, base, mod);
+                }
+                base = multiplyReduced(base, base, mod);
+            }
+            return ans;
+        }
+        
+        /**
+         * {@code (hi * 2^64 + lo) mod mod}, for {@code 0 <= hi}, shifting the bits
+         * of {@code lo} in as many at a time as {@code mod}'s headroom allows.
+         */
+        private static long reduce(final long hi, final long lo, final long mod) {
+            final int step = Long.numberOfLeadingZeros(mod);
+            long r = hi % mod;
+            int bits = Long.SIZE;
+            while (bits > 0) {
+                final int k = Math.min(step, bits);
+                bits -= k;
+                final long chunk = (lo >>> bits) & ((1L << k) - 1);
+                r = Long.remainderUnsigned((r << k) | chunk, mod);
+            }
+            return r;
+        }
+    }
+    
     public static final class Factorial<N extends Number> {
-        private static final Long[] FACT = new Long[] {
+        private static final long[] FACT = new long[] {
                 /* 0*/ 1L,
                 /* 1*/ 1L,
                 /* 2*/ 2L,
@@ -74,52 +126,359 @@ public class Main {
                 /*20*/ 2_432_902_008_176_640_000L
         };
         
-        @SuppressWarnings("unchecked")
+        @SuppressWarnings({ "unchecked", "unused" })
         public static <N extends Number> N fact(final int n) {
             if (n <= 20) {
-                return (N) FACT[n];
+                return (N) Long.valueOf(FACT[n]);
             } else {
                 return (N) bigFact(n);
             }
         }
         
-        private static final Map<Integer, BigInteger> MAP = new HashMap<>();
+        /**
+         * n! for {@code n <= 20}, the largest that fits in a long.
+         */
+        @SuppressWarnings("unused")
+        public static long factLong(final int n) {
+            if (n >= FACT.length) {
+                throw new ArithmeticException("long overflow");
+            }
+            return FACT[n];
+        }
         
-        public static void compact(final int n) {
-            for (int j = 0; j < n; j++) {
-                MAP.remove(j);
+        /**
+         * n! mod {@code mod}, for any {@code mod > 0}.
+         */
+        @SuppressWarnings("unused")
+        public static long factMod(final int n, final long mod) {
+            assert mod > 0;
+            if (n < FACT.length) {
+                return FACT[n] % mod;
+            }
+            if (n >= mod) {
+                return 0;
             }
+            long ans = FACT[FACT.length - 1] % mod;
+            for (int k = FACT.length; k <= n; k++) {
+                ans = Modular.multiplyReduced(ans, k, mod);
+            }
+            return ans;
         }
         
+        private static final int LEAF = 32;
+        
+        /**
+         * n! = oddPart(n!) * 2^(n - bitCount(n)), where the odd part is the
+         * product over i of oddProduct(1, n >> i), each built from the previous
+         * one by binary splitting: only O(log n) big numbers are live at once.
+         */
         public static BigInteger bigFact(final int n) {
+            if (n < FACT.length) {
+                return BigInteger.valueOf(FACT[n]);
+            }
+            BigInteger odd = BigInteger.ONE;
+            BigInteger oddPart = BigInteger.ONE;
+            for (int i = 31 - Integer.numberOfLeadingZeros(n); i >= 0; i--) {
+                odd = odd.multiply(oddProduct((n >> (i + 1)) + 1, n >> i));
+                oddPart = oddPart.multiply(odd);
+            }
+            return oddPart.shiftLeft(n - Integer.bitCount(n));
+        }
+        
+        /**
+         * Product of the odd numbers in [from, to].
+         */
+        private static BigInteger oddProduct(final int from, final int to) {
+            final int lo = from | 1;
+            final int hi = (to & 1) == 1 ? to : to - 1;
+            if (lo > hi) {
+                return BigInteger.ONE;
+            }
+            return product(lo, hi, 2);
+        }
+        
+        /**
+         * Product of lo, lo + step, ..., hi: a balanced tree over leaves of
+         * up to {@link #LEAF} factors, each multiplied in a long until the
+         * next factor would overflow it.
+         */
+        private static BigInteger product(final int lo, final int hi, final int step) {
+            final int count = (hi - lo) / step + 1;
+            if (count <= LEAF) {
+                BigInteger product = BigInteger.ONE;
+                long acc = 1;
+                for (long k = lo; k <= hi; k += step) {
+                    if (acc > Long.MAX_VALUE / k) {
+                        product = product.multiply(BigInteger.valueOf(acc));
+                        acc = k;
+                    } else {
+                        acc *= k;
+                    }
+                }
+                return product.multiply(BigInteger.valueOf(acc));
+            }
+            final int mid = lo + (count / 2 - 1) * step;
+            return product(lo, mid, step).multiply(product(mid + step, hi, step));
+        }
+        
+        private static final int PARALLEL_THRESHOLD = 20_000;
+        
+        /**
+         * {@link #bigFact(int)} with the odd products of the ranges
+         * (n >> (i + 1), n >> i] split across the common {@link ForkJoinPool}.
+         * Ranges of up to {@link #PARALLEL_THRESHOLD} factors, and n below
+         * it, stay sequential.
+         */
+        public static BigInteger parallelFact(final int n) {
+            if (n < PARALLEL_THRESHOLD) {
+                return bigFact(n);
+            }
+            final List<Product> ranges = new ArrayList<>();
+            for (int i = 31 - Integer.numberOfLeadingZeros(n); i >= 0; i--) {
+                final int from = ((n >> (i + 1)) + 1) | 1;
+                final int to = ((n >> i) - 1) | 1;
+                final Product range = new Product(from, to, 2);
+                ForkJoinPool.commonPool().execute(range);
+                ranges.add(range);
+            }
+            BigInteger odd = BigInteger.ONE;
+            BigInteger oddPart = BigInteger.ONE;
+            for (final Product range : ranges) {
+                odd = odd.multiply(range.join());
+                oddPart = oddPart.multiply(odd);
+            }
+            return oddPart.shiftLeft(n - Integer.bitCount(n));
+        }
+        
+        @SuppressWarnings("serial")
+        private static final class Product extends RecursiveTask<BigInteger> {
+            private final int lo;
+            private final int hi;
+            private final int step;
+            
+            public Product(final int lo, final int hi, final int step) {
+                this.lo = lo;
+                this.hi = hi;
+                this.step = step;
+            }
+            
+            @Override
+            protected BigInteger compute() {
+                if (this.lo > this.hi) {
+                    return BigInteger.ONE;
+                }
+                final int count = (this.hi - this.lo) / this.step + 1;
+                if (count <= PARALLEL_THRESHOLD) {
+                    return product(this.lo, this.hi, this.step);
+                }
+                final int mid = this.lo + (count / 2 - 1) * this.step;
+                final Product left = new Product(this.lo, mid, this.step);
+                left.fork();
+                final BigInteger right
+                        = new Product(mid + this.step, this.hi, this.step).compute();
+                return left.join().multiply(right);
+            }
+        }
+        
+        private static final double LOG10_2_HI = 0.3010299956639812;
+        private static final double LOG10_2_LO = -2.8037281277851704e-18;
+        
+        /**
+         * n! to ten significant digits, as {@code DecimalFormat("0.#########E0")}
+         * would print it, with "e+" for the exponent.
+         * <p>
+         * n! is carried as a 64-bit binary mantissa and exponent, truncated
+         * after every multiply, so its relative error stays below n * 2^-63.
+         * Only when the tenth digit is that close to a tie is the exact
+         * value computed, by {@code exact}.
+         */
+        public static String scientific(
+                final int n, final IntFunction<BigInteger> exact) {
             if (n <= 20) {
-                return BigInteger.valueOf(fact(n).longValue());
+                return exactScientific(n, exact);
+            }
+            long mantissa = Long.MIN_VALUE; // unsigned, 1.0 with 63 fraction bits
+            long exponent = 0;
+            for (long k = 2; k <= n; k += 2) {
+                final long f = k < n ? k * (k + 1) : k;
+                // the mantissa's top bit is set, so unsigned high = signed high + f
+                final long hi = Math.multiplyHigh(mantissa, f) + f;
+                final long lo = mantissa * f;
+                final int shift = Long.numberOfLeadingZeros(hi);
+                mantissa = shift == 0 ? hi : hi << shift | lo >>> (64 - shift);
+                exponent += 64 - shift;
+            }
+            // log10(2^exponent), with the rounding error of the product kept apart
+            final double t = exponent * LOG10_2_HI;
+            final double floor = Math.floor(t);
+            final double frac = (t - floor)
+                    + Math.fma(exponent, LOG10_2_HI, -t)
+                    + exponent * LOG10_2_LO;
+            long exponent10 = (long) floor;
+            double v = Math.pow(10, frac) * ((mantissa >>> 1) * 0x1p-62);
+            if (v >= 10) {
+                v /= 10;
+                exponent10++;
+            } else if (v < 1) {
+                v *= 10;
+                exponent10--;
             }
-            if (MAP.containsKey(n)) {
-                return MAP.get(n);
+            final double scaled = v * 1e9;
+            final double below = scaled - Math.floor(scaled);
+            if (Math.abs(below - 0.5) <= scaled * (n * 0x1p-63 + 0x1p-48)) {
+                return exactScientific(n, exact);
+            }
+            long digits = (long) Math.floor(scaled) + (below > 0.5 ? 1 : 0);
+            if (digits == 10_000_000_000L) {
+                digits = 1_000_000_000L;
+                exponent10++;
+            }
+            while (digits % 10 == 0) {
+                digits /= 10;
+            }
+            final String d = Long.toString(digits);
+            final StringBuilder sb = new StringBuilder(24).append(d.charAt(0));
+            if (d.length() > 1) {
+                sb.append('.').append(d, 1, d.length());
+            }
+            return sb.append("e+").append(exponent10).toString();
+        }
+        
+        public static String scientific(final int n) {
+            return scientific(n, Factorial::parallelFact);
+        }
+        
+        public static String exactScientific(
+                final int n, final IntFunction<BigInteger> exact) {
+            final NumberFormat formatter = new DecimalFormat(
+                    "0.#########E0", DecimalFormatSymbols.getInstance(Locale.ROOT));
+            return formatter.format(exact.apply(n)).replace("E", "e+");
+        }
+        
+        public static String exactScientific(final int n) {
+            return exactScientific(n, Factorial::parallelFact);
+        }
+        
+        /**
+         * Keeps k! for multiples k of {@code every}, least recently used
+         * first out once their total size goes over {@code budget} bytes.
+         * n! is then the nearest cached checkpoint below n times the rest of
+         * the range, and the checkpoint just below n is cached on the way.
+         */
+        public static final class Cache {
+            private final int every;
+            private final long budget;
+            private final Map<Integer, BigInteger> checkpoints
+                    = new LinkedHashMap<>(16, 0.75f, true);
+            private long bytes = 0;
+            
+            public Cache(final int every, final long budget) {
+                assert every > 0 && budget >= 0;
+                this.every = every;
+                this.budget = budget;
+            }
+            
+            public BigInteger fact(final int n) {
+                final int checkpoint = n / this.every * this.every;
+                if (checkpoint == 0) {
+                    return bigFact(n);
+                }
+                BigInteger fact = this.checkpoints.get(checkpoint);
+                if (fact == null) {
+                    int below = checkpoint - this.every;
+                    BigInteger base = null;
+                    while (below > 0
+                            && (base = this.checkpoints.get(below)) == null) {
+                        below -= this.every;
+                    }
+                    fact = base == null
+                            ? parallelFact(checkpoint)
+                            : base.multiply(product(below + 1, checkpoint, 1));
+                    put(checkpoint, fact);
+                }
+                return checkpoint == n
+                        ? fact
+                        : fact.multiply(product(checkpoint + 1, n, 1));
+            }
+            
+            private void put(final int k, final BigInteger fact) {
+                final long size = fact.bitLength() / 8 + 1;
+                if (size > this.budget) {
+                    return;
+                }
+                this.checkpoints.put(k, fact);
+                this.bytes += size;
+                final Iterator<BigInteger> eldest
+                        = this.checkpoints.values().iterator();
+                while (this.bytes > this.budget) {
+                    this.bytes -= eldest.next().bitLength() / 8 + 1;
+                    eldest.remove();
+                }
+            }
+            
+            @SuppressWarnings("unused")
+            public long size() {
+                return this.bytes;
+            }
+        }
+        
+        /**
+         * k! and 1/k! mod a prime {@code p}, for all {@code k <= max < p}.
+         */
+        public static final class ModTable {
+            private final long p;
+            private final long[] fact;
+            private final long[] inverseFact;
+            
+            public ModTable(final int max, final long p) {
+                assert 0 <= max && max < p;
+                this.p = p;
+                this.fact = new long[max + 1];
+                this.inverseFact = new long[max + 1];
+                this.fact[0] = 1 % p;
+                for (int k = 1; k <= max; k++) {
+                    this.fact[k] = Modular.multiplyReduced(this.fact[k - 1], k, p);
+                }
+                this.inverseFact[max] = Modular.power(this.fact[max], p - 2, p);
+                for (int k = max; k > 0; k--) {
+                    this.inverseFact[k - 1]
+                            = Modular.multiplyReduced(this.inverseFact[k], k, p);
+                }
+            }
+            
+            @SuppressWarnings("unused")
+            public long fact(final int n) {
+                return this.fact[n];
+            }
+            
+            @SuppressWarnings("unused")
+            public long inverseFact(final int n) {
+                return this.inverseFact[n];
+            }
+            
+            @SuppressWarnings("unused")
+            public long binomial(final int n, final int k) {
+                if (k < 0 || k > n) {
+                    return 0;
+                }
+                return Modular.multiplyReduced(
+                        Modular.multiplyReduced(this.fact[n], this.inverseFact[k], this.p),
+                        this.inverseFact[n - k],
+                        this.p);
             }
-            final BigInteger fact = BigInteger.valueOf(n).multiply(bigFact(n - 1));
-            MAP.put(n, fact);
-            return fact;
         }
     }
     
     private void handleTestCase(final Integer i, final FastScanner sc) {
         final int n = sc.nextInt();
-        final BigInteger fact;
-        if (n <= 5000) {
-            fact = Factorial.bigFact(n);
-        } else {
-            int nn = 5000;
-            while (nn < n) {
-                Factorial.bigFact(nn);
-                Factorial.compact(nn);
-                nn += 5000;
+        final String ans = Factorial.scientific(n, this.cache::fact);
+        if (this.sample) {
+            final String expected = Factorial.exactScientific(n, this.cache::fact);
+            if (!ans.equals(expected)) {
+                throw new AssertionError(String.format(
+                        "Expected %s, got %s", expected, ans));
             }
-            fact = Factorial.bigFact(n);
         }
-        final NumberFormat formatter = new DecimalFormat("0.#########E0", DecimalFormatSymbols.getInstance(Locale.ROOT));
-        final String ans = formatter.format(fact).replace("E", "e+");
         this.out.println(ans);
     }
     
@@ -191,38 +550,96 @@ public class Main {
     }
     
     private static final class FastScanner implements Closeable {
-        private final BufferedReader br;
-        private StringTokenizer st;
+        private static final int BUFFER_SIZE = 1 << 16;
+        private final InputStream in;
+        private final byte[] buf = new byte[BUFFER_SIZE];
+        private byte[] token = new byte[64];
+        private int ptr = 0;
+        private int len = 0;
         
         public FastScanner(final InputStream in) {
-            this.br = new BufferedReader(new InputStreamReader(in));
-            st = new StringTokenizer("");
+            this.in = in;
         }
         
-        public String next() {
-            while (!st.hasMoreTokens()) {
+        private int read() {
+            if (ptr == len) {
                 try {
-                    st = new StringTokenizer(br.readLine());
+                    len = this.in.read(buf, 0, BUFFER_SIZE);
                 } catch (final IOException e) {
                     throw new RuntimeException(e);
                 }
+                ptr = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
+            }
+            return buf[ptr++] & 0xff;
+        }
+        
+        private int skipWhitespace() {
+            int b = read();
+            while (b != -1 && b <= ' ') {
+                b = read();
+            }
+            if (b == -1) {
+                throw new NoSuchElementException();
+            }
+            return b;
+        }
+        
+        public String next() {
+            int b = skipWhitespace();
+            int n = 0;
+            while (b > ' ') {
+                if (n == token.length) {
+                    token = Arrays.copyOf(token, 2 * n);
+                }
+                token[n++] = (byte) b;
+                b = read();
             }
-            return st.nextToken();
+            return new String(token, 0, n);
         }
     
         public int nextInt() {
-            return Integer.parseInt(next());
+            int b = skipWhitespace();
+            final boolean negative = b == '-';
+            if (negative) {
+                b = read();
+            }
+            int ans = 0;
+            do {
+                if (b < '0' || b > '9') {
+                    throw new NumberFormatException();
+                }
+                ans = 10 * ans + (b - '0');
+                b = read();
+            } while (b > ' ');
+            return negative ? -ans : ans;
         }
         
         @SuppressWarnings("unused")
         public long nextLong() {
-            return Long.parseLong(next());
+            int b = skipWhitespace();
+            final boolean negative = b == '-';
+            if (negative) {
+                b = read();
+            }
+            long ans = 0;
+            do {
+                if (b < '0' || b > '9') {
+                    throw new NumberFormatException();
+                }
+                ans = 10 * ans + (b - '0');
+                b = read();
+            } while (b > ' ');
+            return negative ? -ans : ans;
         }
 
         @Override
         public void close() {
             try {
-                this.br.close();
+                this.in.close();
             } catch (final IOException e) {
                 // ignore
             }
@@ -2,20 +2,19 @@ package com.github.pareronia.dmoj.fibonacci;
 
 import static java.util.Arrays.asList;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.PrintStream;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.StringTokenizer;
 
 /**
  * Fibonacci Sequence
@@ -23,6 +22,9 @@ import java.util.StringTokenizer;
  */
 public class Main {
 
+    private static final long MOD = 1_000_000_007;
+    private static final Modulus MODULUS = Modulus.of(MOD);
+    
     private final boolean sample;
     private final InputStream in;
     private final PrintStream out;
@@ -72,10 +74,456 @@ public class Main {
         public static long subtract(final long a, final long b, final long mod) {
             return add(a, -b, mod);
         }
+        
+        /**
+         * Addition of already reduced operands, {@code 0 <= a, b < mod}.
+         */
+        public static long addReduced(final long a, final long b, final long mod) {
+            return a >= mod - b ? a - (mod - b) : a + b;
+        }
+        
+        /**
+         * Subtraction of already reduced operands, {@code 0 <= a, b < mod}.
+         */
+        public static long subtractReduced(final long a, final long b, final long mod) {
+            return a >= b ? a - b : a - b + mod;
+        }
+        
+        /**
+         * Multiplication of already reduced operands, {@code 0 <= a, b < mod}.
+         * The full 128-bit product is reduced when it does not fit in a long.
+         */
+        public static long multiplyReduced(final long a, final long b, final long mod) {
+            if (mod <= 1L << 31) {
+                return a * b % mod;
+            }
+            return reduce(Math.multiplyHigh(a, b), a * b, mod);
+        }
+        
+        /**
+         * {@code (hi * 2^64 + lo) mod mod}, for {@code 0 <= hi}, shifting the bits
+         * of {@code lo} in as many at a time as {@code mod}'s headroom allows.
+         */
+        private static long reduce(final long hi, final long lo, final long mod) {
+            final int step = Long.numberOfLeadingZeros(mod);
+            long r = hi % mod;
+            int bits = Long.SIZE;
+            while (bits > 0) {
+                final int k = Math.min(step, bits);
+                bits -= k;
+                final long chunk = (lo >>> bits) & ((1L << k) - 1);
+                r = Long.remainderUnsigned((r << k) | chunk, mod);
+            }
+            return r;
+        }
+    }
+    
+    /**
+     * Arithmetic modulo a fixed modulus, with the reduction constants computed
+     * once. Values are handled in the implementation's own representation:
+     * {@link #encode(long)} on the way in, {@link #decode(long)} on the way out.
+     */
+    private abstract static class Modulus {
+        protected final long mod;
+        private long pisano = 0;
+        
+        protected Modulus(final long mod) {
+            this.mod = mod;
+        }
+        
+        /**
+         * Period of the Fibonacci sequence modulo {@code mod}, computed on
+         * first use (O(mod) steps) and kept.
+         */
+        public long pisano() {
+            if (this.pisano == 0) {
+                this.pisano = Fibonacci.pisano(this.mod);
+            }
+            return this.pisano;
+        }
+        
+        public boolean hasPisano() {
+            return this.pisano != 0;
+        }
+        
+        public static Modulus of(final long mod) {
+            if (mod <= 0) {
+                throw new IllegalArgumentException("Invalid modulus: " + mod);
+            }
+            if (mod <= 1L << 32) {
+                return new Barrett(mod);
+            }
+            if ((mod & 1) == 1) {
+                return new Montgomery(mod);
+            }
+            return new Plain(mod);
+        }
+        
+        public abstract long encode(long x);
+        
+        public abstract long decode(long x);
+        
+        public abstract long multiply(long a, long b);
+        
+        public long one() {
+            return encode(1);
+        }
+        
+        public final long add(final long a, final long b) {
+            return Modular.addReduced(a, b, mod);
+        }
+        
+        public final long subtract(final long a, final long b) {
+            return Modular.subtractReduced(a, b, mod);
+        }
+        
+        private static long unsignedMultiplyHigh(final long a, final long b) {
+            return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+        }
+        
+        /**
+         * Barrett reduction with {@code floor((2^64 - 1) / mod)}, for moduli up
+         * to 2^32, whose products of reduced values fit in 64 unsigned bits.
+         */
+        private static final class Barrett extends Modulus {
+            private final long mu;
+            
+            private Barrett(final long mod) {
+                super(mod);
+                this.mu = Long.divideUnsigned(-1L, mod);
+            }
+            
+            @Override
+            public long encode(final long x) {
+                return Math.floorMod(x, mod);
+            }
+            
+            @Override
+            public long decode(final long x) {
+                return x;
+            }
+            
+            @Override
+            public long multiply(final long a, final long b) {
+                final long x = a * b;
+                long r = x - unsignedMultiplyHigh(x, mu) * mod;
+                while (r >= mod) {
+                    r -= mod;
+                }
+                return r;
+            }
+        }
+        
+        /**
+         * Montgomery multiplication with R = 2^64, for odd moduli below 2^63.
+         */
+        private static final class Montgomery extends Modulus {
+            private final long inv;
+            private final long r2;
+            
+            private Montgomery(final long mod) {
+                super(mod);
+                long inv = mod;
+                for (int j = 0; j < 5; j++) {
+                    inv *= 2 - mod * inv;
+                }
+                this.inv = inv;
+                final long r = (Long.remainderUnsigned(-1L, mod) + 1) % mod;
+                this.r2 = Modular.multiplyReduced(r, r, mod);
+            }
+            
+            private long redc(final long hi, final long lo) {
+                final long r = hi - unsignedMultiplyHigh(lo * inv, mod);
+                return r < 0 ? r + mod : r;
+            }
+            
+            @Override
+            public long encode(final long x) {
+                return multiply(Math.floorMod(x, mod), r2);
+            }
+            
+            @Override
+            public long decode(final long x) {
+                return redc(0, x);
+            }
+            
+            @Override
+            public long multiply(final long a, final long b) {
+                return redc(Math.multiplyHigh(a, b), a * b);
+            }
+        }
+        
+        /**
+         * Even moduli above 2^32: the plain 128-bit product reduction.
+         */
+        private static final class Plain extends Modulus {
+            
+            private Plain(final long mod) {
+                super(mod);
+            }
+            
+            @Override
+            public long encode(final long x) {
+                return Math.floorMod(x, mod);
+            }
+            
+            @Override
+            public long decode(final long x) {
+                return x;
+            }
+            
+            @Override
+            public long multiply(final long a, final long b) {
+                return Modular.multiplyReduced(a, b, mod);
+            }
+        }
+    }
+    
+    /**
+     * a(n) = c(1) * a(n - 1) + ... + c(k) * a(n - k), from a(0) .. a(k - 1).
+     */
+    private static final class LinearRecurrence {
+        private final Modulus m;
+        private final int k;
+        private final long[] c;
+        private final long[] a;
+        
+        public LinearRecurrence(
+                final long[] coefficients, final long[] initial, final Modulus m) {
+            if (coefficients.length == 0 || coefficients.length != initial.length) {
+                throw new IllegalArgumentException("Need k coefficients and k initial terms");
+            }
+            this.m = m;
+            this.k = coefficients.length;
+            this.c = new long[k];
+            this.a = new long[k];
+            for (int j = 0; j < k; j++) {
+                this.c[j] = m.encode(coefficients[j]);
+                this.a[j] = m.encode(initial[j]);
+            }
+        }
+        
+        public long nth(final long n) {
+            return k <= 2 ? nthByMatrix(n) : nthByPolynomial(n);
+        }
+        
+        /**
+         * Companion matrix power applied to (a(k - 1), ..., a(0)), O(k^3 log n).
+         * Matrices are flat row-major arrays, squared into a reused scratch
+         * buffer.
+         */
+        public long nthByMatrix(final long n) {
+            long[] p = new long[k * k];
+            long[] scratch = new long[k * k];
+            for (int j = 0; j < k; j++) {
+                p[j] = c[j];
+            }
+            for (int i = 1; i < k; i++) {
+                p[i * k + i - 1] = m.one();
+            }
+            long[] v = new long[k];
+            long[] w = new long[k];
+            for (int i = 0; i < k; i++) {
+                v[i] = a[k - 1 - i];
+            }
+            for (long e = n; e != 0; e >>>= 1) {
+                if ((e & 1) == 1) {
+                    for (int i = 0; i < k; i++) {
+                        long sum = 0;
+                        for (int j = 0; j < k; j++) {
+                            sum = m.add(sum, m.multiply(p[i * k + j], v[j]));
+                        }
+                        w[i] = sum;
+                    }
+                    final long[] t = v;
+                    v = w;
+                    w = t;
+                }
+                if ((e >>> 1) != 0) {
+                    for (int i = 0; i < k; i++) {
+                        for (int j = 0; j < k; j++) {
+                            long sum = 0;
+                            for (int l = 0; l < k; l++) {
+                                sum = m.add(sum, m.multiply(p[i * k + l], p[l * k + j]));
+                            }
+                            scratch[i * k + j] = sum;
+                        }
+                    }
+                    final long[] t = p;
+                    p = scratch;
+                    scratch = t;
+                }
+            }
+            return m.decode(v[k - 1]);
+        }
+        
+        /**
+         * Kitamasa: x^n modulo the characteristic polynomial
+         * x^k - c(1) * x^(k - 1) - ... - c(k) gives a(n) as a combination of
+         * a(0) .. a(k - 1), O(k^2 log n).
+         */
+        public long nthByPolynomial(final long n) {
+            long[] r = new long[k];
+            long[] scratch = new long[k];
+            final long[] product = new long[2 * k - 1];
+            r[0] = m.one();
+            for (int bit = 63 - Long.numberOfLeadingZeros(n); bit >= 0; bit--) {
+                multiplyModulo(r, r, product, scratch);
+                long[] t = r;
+                r = scratch;
+                scratch = t;
+                if (((n >>> bit) & 1) == 1) {
+                    timesX(r, scratch);
+                    t = r;
+                    r = scratch;
+                    scratch = t;
+                }
+            }
+            long ans = 0;
+            for (int j = 0; j < k; j++) {
+                ans = m.add(ans, m.multiply(r[j], a[j]));
+            }
+            return m.decode(ans);
+        }
+        
+        private void multiplyModulo(
+                final long[] x, final long[] y, final long[] product, final long[] result) {
+            Arrays.fill(product, 0);
+            for (int i = 0; i < k; i++) {
+                if (x[i] == 0) {
+                    continue;
+                }
+                for (int j = 0; j < k; j++) {
+                    product[i + j] = m.add(product[i + j], m.multiply(x[i], y[j]));
+                }
+            }
+            // x^i = c(1) * x^(i - 1) + ... + c(k) * x^(i - k), from the top down
+            for (int i = 2 * k - 2; i >= k; i--) {
+                final long t = product[i];
+                if (t == 0) {
+                    continue;
+                }
+                for (int j = 0; j < k; j++) {
+                    product[i - 1 - j] = m.add(product[i - 1 - j], m.multiply(t, c[j]));
+                }
+            }
+            System.arraycopy(product, 0, result, 0, k);
+        }
+        
+        private void timesX(final long[] x, final long[] result) {
+            final long top = x[k - 1];
+            for (int i = k - 1; i >= 1; i--) {
+                result[i] = m.add(x[i - 1], m.multiply(top, c[k - 1 - i]));
+            }
+            result[0] = m.multiply(top, c[k - 1]);
+        }
     }
     
     private static class Fibonacci {
         
+        /**
+         * Iterative fast doubling over the bits of {@code n}, read as unsigned,
+         * so {@code n} can go up to 2^64 - 1.
+         */
+        public static long fib(final long n, final long mod) {
+            return fib(n, Modulus.of(mod));
+        }
+        
+        public static long fib(final long n, final Modulus m) {
+            long a = m.encode(0);
+            long b = m.one();
+            for (int bit = 63 - Long.numberOfLeadingZeros(n); bit >= 0; bit--) {
+                // F(2k) = F(k) * (2 * F(k + 1) - F(k)), F(2k + 1) = F(k)^2 + F(k + 1)^2
+                final long c = m.multiply(a, m.subtract(m.add(b, b), a));
+                final long d = m.add(m.multiply(a, a), m.multiply(b, b));
+                if (((n >>> bit) & 1) == 0) {
+                    a = c;
+                    b = d;
+                } else {
+                    a = d;
+                    b = m.add(c, d);
+                }
+            }
+            return m.decode(a);
+        }
+        
+        private static final long PISANO_LIMIT = 1L << 20;
+        
+        /**
+         * Answers a batch of queries, in input order. The distinct values of n
+         * (reduced modulo the Pisano period for small moduli, when the batch
+         * is large enough to pay for finding it) are visited in
+         * unsigned order, so consecutive values share the top bits of their
+         * doubling chains: level k of the chain holds F(n >>> k), F((n >>> k) + 1)
+         * and is only recomputed below the highest bit where n differs from
+         * the previous value.
+         */
+        public static long[] fib(final long[] ns, final Modulus m) {
+            // finding the period takes up to 6 * mod steps, so it is only
+            // worth it for a batch that large, or if it is known already
+            final boolean usePisano = m.mod <= PISANO_LIMIT
+                    && (m.hasPisano() || ns.length >= m.mod >> 5);
+            final long period = usePisano ? m.pisano() : 0;
+            final long[] keys = new long[ns.length];
+            for (int j = 0; j < ns.length; j++) {
+                final long n = period > 0 ? Long.remainderUnsigned(ns[j], period) : ns[j];
+                keys[j] = n ^ Long.MIN_VALUE;
+            }
+            final long[] sorted = keys.clone();
+            Arrays.sort(sorted);
+            final long[] a = new long[Long.SIZE + 1];
+            final long[] b = new long[Long.SIZE + 1];
+            a[Long.SIZE] = m.encode(0);
+            b[Long.SIZE] = m.one();
+            final long[] distinct = new long[sorted.length];
+            final long[] values = new long[sorted.length];
+            int cnt = 0;
+            long prev = 0;
+            for (final long key : sorted) {
+                if (cnt > 0 && key == distinct[cnt - 1]) {
+                    continue;
+                }
+                final long n = key ^ Long.MIN_VALUE;
+                final int valid = cnt == 0 ? Long.SIZE : Long.SIZE - Long.numberOfLeadingZeros(n ^ prev);
+                for (int k = valid - 1; k >= 0; k--) {
+                    final long c = m.multiply(a[k + 1], m.subtract(m.add(b[k + 1], b[k + 1]), a[k + 1]));
+                    final long d = m.add(m.multiply(a[k + 1], a[k + 1]), m.multiply(b[k + 1], b[k + 1]));
+                    if (((n >>> k) & 1) == 0) {
+                        a[k] = c;
+                        b[k] = d;
+                    } else {
+                        a[k] = d;
+                        b[k] = m.add(c, d);
+                    }
+                }
+                distinct[cnt] = key;
+                values[cnt] = m.decode(a[0]);
+                cnt++;
+                prev = n;
+            }
+            final long[] ans = new long[ns.length];
+            for (int j = 0; j < ns.length; j++) {
+                ans[j] = values[Arrays.binarySearch(distinct, 0, cnt, keys[j])];
+            }
+            return ans;
+        }
+        
+        /**
+         * Period of the Fibonacci sequence modulo {@code mod}, at most 6 * mod.
+         */
+        private static long pisano(final long mod) {
+            long a = 0;
+            long b = 1 % mod;
+            long period = 0;
+            do {
+                final long c = (a + b) % mod;
+                a = b;
+                b = c;
+                period++;
+            } while (a != 0 || b != 1 % mod);
+            return period;
+        }
+        
         public static Pair<Long, Long> fast(final long n, final long mod) {
             if (n == 0) {
                 return Pair.of(0L, 1L);
@@ -146,9 +594,43 @@ public class Main {
         }
     }
     
-    private void handleTestCase(final Integer i, final FastScanner sc) {
-        final long n = sc.nextLong();
-        this.out.println(Fibonacci.fast(n, 1_000_000_007).getOne());
+    private void handleTestCase(final Integer i, final long n, final long ans) {
+        if (this.sample) {
+            final LinearRecurrence fibonacci = new LinearRecurrence(
+                    new long[] { 1, 1 }, new long[] { 0, 1 }, MODULUS);
+            final long[] expected = {
+                    n >= 0 ? Fibonacci.fast(n, MOD).getOne() : ans,
+                    fibonacci.nthByMatrix(n),
+                    fibonacci.nthByPolynomial(n) };
+            for (final long e : expected) {
+                if (ans != e) {
+                    throw new AssertionError(String.format(
+                            "Expected %d, got %d", e, ans));
+                }
+            }
+        }
+        this.out.println(ans);
+    }
+    
+    /**
+     * The sample queries as one small batch modulo a number just under
+     * {@code PISANO_LIMIT}: the answers must match the single queries, and
+     * the batch must not have paid for the Pisano period.
+     */
+    private static void checkSmallBatch(final long[] ns) {
+        final Modulus small = Modulus.of((1L << 20) - 3);
+        final long[] ans = Fibonacci.fib(ns, small);
+        for (int i = 0; i < ns.length; i++) {
+            final long expected = Fibonacci.fib(ns[i], small);
+            if (ans[i] != expected) {
+                throw new AssertionError(String.format(
+                        "Expected %d, got %d", expected, ans[i]));
+            }
+        }
+        if (small.hasPisano()) {
+            throw new AssertionError(
+                    "Pisano period computed for a batch of " + ns.length);
+        }
     }
     
     public void solve() {
@@ -159,8 +641,16 @@ public class Main {
             } else {
                 numberOfTestCases = 1;
             }
-            for (int i = 1; i <= numberOfTestCases; i++) {
-                handleTestCase(i, sc);
+            final long[] ns = new long[numberOfTestCases];
+            for (int i = 0; i < numberOfTestCases; i++) {
+                ns[i] = Long.parseUnsignedLong(sc.next());
+            }
+            final long[] ans = Fibonacci.fib(ns, MODULUS);
+            if (this.sample) {
+                checkSmallBatch(ns);
+            }
+            for (int i = 0; i < numberOfTestCases; i++) {
+                handleTestCase(i + 1, ns[i], ans[i]);
             }
         }
     }
@@ -219,37 +709,96 @@ public class Main {
     }
     
     private static final class FastScanner implements Closeable {
-        private final BufferedReader br;
-        private StringTokenizer st;
+        private static final int BUFFER_SIZE = 1 << 16;
+        private final InputStream in;
+        private final byte[] buf = new byte[BUFFER_SIZE];
+        private byte[] token = new byte[64];
+        private int ptr = 0;
+        private int len = 0;
         
         public FastScanner(final InputStream in) {
-            this.br = new BufferedReader(new InputStreamReader(in));
-            st = new StringTokenizer("");
+            this.in = in;
         }
         
-        public String next() {
-            while (!st.hasMoreTokens()) {
+        private int read() {
+            if (ptr == len) {
                 try {
-                    st = new StringTokenizer(br.readLine());
+                    len = this.in.read(buf, 0, BUFFER_SIZE);
                 } catch (final IOException e) {
                     throw new RuntimeException(e);
                 }
+                ptr = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
+            }
+            return buf[ptr++] & 0xff;
+        }
+        
+        private int skipWhitespace() {
+            int b = read();
+            while (b != -1 && b <= ' ') {
+                b = read();
+            }
+            if (b == -1) {
+                throw new NoSuchElementException();
             }
-            return st.nextToken();
+            return b;
+        }
+        
+        public String next() {
+            int b = skipWhitespace();
+            int n = 0;
+            while (b > ' ') {
+                if (n == token.length) {
+                    token = Arrays.copyOf(token, 2 * n);
+                }
+                token[n++] = (byte) b;
+                b = read();
+            }
+            return new String(token, 0, n);
         }
     
         public int nextInt() {
-            return Integer.parseInt(next());
+            int b = skipWhitespace();
+            final boolean negative = b == '-';
+            if (negative) {
+                b = read();
+            }
+            int ans = 0;
+            do {
+                if (b < '0' || b > '9') {
+                    throw new NumberFormatException();
+                }
+                ans = 10 * ans + (b - '0');
+                b = read();
+            } while (b > ' ');
+            return negative ? -ans : ans;
         }
         
+        @SuppressWarnings("unused")
         public long nextLong() {
-            return Long.parseLong(next());
+            int b = skipWhitespace();
+            final boolean negative = b == '-';
+            if (negative) {
+                b = read();
+            }
+            long ans = 0;
+            do {
+                if (b < '0' || b > '9') {
+                    throw new NumberFormatException();
+                }
+                ans = 10 * ans + (b - '0');
+                b = read();
+            } while (b > ' ');
+            return negative ? -ans : ans;
         }
 
         @Override
         public void close() {
             try {
-                this.br.close();
+                this.in.close();
             } catch (final IOException e) {
                 // ignore
             }
@@ -2,19 +2,19 @@ package com.github.pareronia.dmoj.olympics;
 
 import static java.util.Arrays.asList;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.PrintStream;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.List;
-import java.util.StringTokenizer;
+import java.util.NoSuchElementException;
+import java.util.Random;
 import java.util.function.Supplier;
 
 /**
@@ -42,33 +42,118 @@ public class Main {
         System.out.println(supplier.get());
     }
     
-    private void handleTestCase(final Integer i, final FastScanner sc) {
-        final long n = sc.nextLong();
-        final long b = sc.nextLong();
-        final long s = sc.nextLong();
-        final long g = sc.nextLong();
-        long score = b * 1 + s * 3 + g * 5;
-        final long target = n + 1;
-        long ans = 0;
-        while (score < target) {
-            if (target - score >= 5) {
-                final long gg = (target - score) / 5;
-                ans += gg;
-                score += gg * 5;
-            } else if (target - score == 4) {
-                ans += 1;
-                score += 5;
-            } else if (target - score >= 2) {
-                ans += 1;
-                score += 3;
-            } else if (target - score == 1) {
-                ans += 1;
-                score += 1;
+    private static final class Olympics {
+        
+        /**
+         * The fewest medals to go from b bronze (1 point), s silver (3) and
+         * g gold (5) to more than n points: ceil((n + 1 - score) / 5), since
+         * one gold, silver or bronze always covers a remainder of 1 to 4.
+         */
+        public static long medals(final long n, final long b, final long s, final long g) {
+            final long deficit = n + 1 - (b * 1 + s * 3 + g * 5);
+            return deficit > 0 ? (deficit - 1) / 5 + 1 : 0;
+        }
+        
+        /**
+         * {@link #medals(long, long, long, long)} for the (n, b, s, g)
+         * quadruples packed in {@code queries}, into {@code ans}.
+         */
+        public static void medals(final long[] queries, final long[] ans) {
+            assert queries.length == 4 * ans.length;
+            for (int i = 0, j = 0; i < ans.length; i++, j += 4) {
+                ans[i] = medals(queries[j], queries[j + 1], queries[j + 2], queries[j + 3]);
+            }
+        }
+        
+        /**
+         * The original greedy, kept to check the closed form against.
+         */
+        public static long greedy(final long n, final long b, final long s, final long g) {
+            long score = b * 1 + s * 3 + g * 5;
+            final long target = n + 1;
+            long ans = 0;
+            while (score < target) {
+                if (target - score >= 5) {
+                    final long gg = (target - score) / 5;
+                    ans += gg;
+                    score += gg * 5;
+                } else if (target - score == 4) {
+                    ans += 1;
+                    score += 5;
+                } else if (target - score >= 2) {
+                    ans += 1;
+                    score += 3;
+                } else if (target - score == 1) {
+                    ans += 1;
+                    score += 1;
+                }
+            }
+            return ans;
+        }
+    }
+    
+    /**
+     * Prints the answer to the query at {@code queries[at..at + 3]}.
+     */
+    private void handleTestCase(
+            final Integer i, final long[] queries, final int at, final long ans) {
+        if (this.sample) {
+            final long expected = Olympics.greedy(
+                    queries[at], queries[at + 1], queries[at + 2], queries[at + 3]);
+            if (ans != expected) {
+                throw new AssertionError(String.format(
+                        "Expected %d, got %d", expected, ans));
             }
         }
         this.out.println(ans);
     }
     
+    /**
+     * Checks the closed form, scalar and batched, against the greedy on
+     * seeded random queries: deficits of at most 0, of each residue 1 to 4
+     * mod 5, exact multiples of 5, and n around 10^17.
+     */
+    private static void checkProperties() {
+        final Random random = new Random(42);
+        final int cases = 7_000;
+        final long[] queries = new long[4 * cases];
+        for (int j = 0; j < queries.length; j += 4) {
+            final long b = 1 + random.nextInt(1_000);
+            final long s = random.nextInt(1_000);
+            final long g = random.nextInt(1_000);
+            final long score = b * 1 + s * 3 + g * 5;
+            final long n;
+            final int kind = (j / 4) % 7;
+            if (kind == 0) {
+                n = score - 1 - random.nextInt((int) score);
+            } else if (kind <= 4) {
+                n = score - 1 + 5L * random.nextInt(1_000) + kind;
+            } else if (kind == 5) {
+                n = score - 1 + 5L * (1 + random.nextInt(1_000));
+            } else {
+                n = 100_000_000_000_000_000L + random.nextInt(2_001) - 1_000;
+            }
+            queries[j] = n;
+            queries[j + 1] = b;
+            queries[j + 2] = s;
+            queries[j + 3] = g;
+        }
+        final long[] ans = new long[cases];
+        Olympics.medals(queries, ans);
+        for (int i = 0, j = 0; i < cases; i++, j += 4) {
+            final long expected = Olympics.greedy(
+                    queries[j], queries[j + 1], queries[j + 2], queries[j + 3]);
+            final long actual = Olympics.medals(
+                    queries[j], queries[j + 1], queries[j + 2], queries[j + 3]);
+            if (ans[i] != expected || actual != expected) {
+                throw new AssertionError(String.format(
+                        "%s: expected %d, got %d and %d",
+                        Arrays.toString(Arrays.copyOfRange(queries, j, j + 4)),
+                        expected, actual, ans[i]));
+            }
+        }
+    }
+    
     public void solve() {
         try (final FastScanner sc = new FastScanner(this.in)) {
             final int numberOfTestCases;
@@ -77,8 +162,17 @@ public class Main {
             } else {
                 numberOfTestCases = 1;
             }
+            final long[] queries = new long[4 * numberOfTestCases];
+            for (int j = 0; j < queries.length; j++) {
+                queries[j] = sc.nextLong();
+            }
+            final long[] ans = new long[numberOfTestCases];
+            Olympics.medals(queries, ans);
+            if (this.sample) {
+                checkProperties();
+            }
             for (int i = 0; i < numberOfTestCases; i++) {
-                handleTestCase(i, sc);
+                handleTestCase(i, queries, 4 * i, ans[i]);
             }
         }
     }
@@ -137,38 +231,96 @@ public class Main {
     }
     
     private static final class FastScanner implements Closeable {
-        private final BufferedReader br;
-        private StringTokenizer st;
+        private static final int BUFFER_SIZE = 1 << 16;
+        private final InputStream in;
+        private final byte[] buf = new byte[BUFFER_SIZE];
+        private byte[] token = new byte[64];
+        private int ptr = 0;
+        private int len = 0;
         
         public FastScanner(final InputStream in) {
-            this.br = new BufferedReader(new InputStreamReader(in));
-            st = new StringTokenizer("");
+            this.in = in;
         }
         
-        public String next() {
-            while (!st.hasMoreTokens()) {
+        private int read() {
+            if (ptr == len) {
                 try {
-                    st = new StringTokenizer(br.readLine());
+                    len = this.in.read(buf, 0, BUFFER_SIZE);
                 } catch (final IOException e) {
                     throw new RuntimeException(e);
                 }
+                ptr = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
+            }
+            return buf[ptr++] & 0xff;
+        }
+        
+        private int skipWhitespace() {
+            int b = read();
+            while (b != -1 && b <= ' ') {
+                b = read();
+            }
+            if (b == -1) {
+                throw new NoSuchElementException();
             }
-            return st.nextToken();
+            return b;
+        }
+        
+        public String next() {
+            int b = skipWhitespace();
+            int n = 0;
+            while (b > ' ') {
+                if (n == token.length) {
+                    token = Arrays.copyOf(token, 2 * n);
+                }
+                token[n++] = (byte) b;
+                b = read();
+            }
+            return new String(token, 0, n);
         }
     
         public int nextInt() {
-            return Integer.parseInt(next());
+            int b = skipWhitespace();
+            final boolean negative = b == '-';
+            if (negative) {
+                b = read();
+            }
+            int ans = 0;
+            do {
+                if (b < '0' || b > '9') {
+                    throw new NumberFormatException();
+                }
+                ans = 10 * ans + (b - '0');
+                b = read();
+            } while (b > ' ');
+            return negative ? -ans : ans;
         }
         
         @SuppressWarnings("unused")
         public long nextLong() {
-            return Long.parseLong(next());
+            int b = skipWhitespace();
+            final boolean negative = b == '-';
+            if (negative) {
+                b = read();
+            }
+            long ans = 0;
+            do {
+                if (b < '0' || b > '9') {
+                    throw new NumberFormatException();
+                }
+                ans = 10 * ans + (b - '0');
+                b = read();
+            } while (b > ' ');
+            return negative ? -ans : ans;
         }
 
         @Override
         public void close() {
             try {
-                this.br.close();
+                this.in.close();
             } catch (final IOException e) {
                 // ignore
             }
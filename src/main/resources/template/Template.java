@@ -3,19 +3,23 @@ package ${package};
 import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toList;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.PrintStream;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.List;
-import java.util.StringTokenizer;
+import java.util.NoSuchElementException;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -27,13 +31,13 @@ public class ${class_name} {
 
     private final boolean sample;
     private final InputStream in;
-    private final PrintStream out;
+    private final FastWriter out;
     
     public ${class_name}(
             final Boolean sample, final InputStream in, final PrintStream out) {
         this.sample = sample;
         this.in = in;
-        this.out = out;
+        this.out = new FastWriter(out);
     }
     
     @SuppressWarnings("unused")
@@ -57,6 +61,7 @@ public class ${class_name} {
                 handleTestCase(i, sc);
             }
         }
+        this.out.flush();
     }
 
     public static void main(final String[] args) throws IOException, URISyntaxException {
@@ -70,7 +75,9 @@ public class ${class_name} {
             out = new PrintStream(baos, true);
             timerStart = System.nanoTime();
         } else {
-            is = System.in;
+            is = isMapped()
+                    ? new FileInputStream(System.getProperty("dmoj.input"))
+                    : System.in;
             out = System.out;
         }
         
@@ -112,28 +119,113 @@ public class ${class_name} {
         }
     }
     
+    private static boolean isMapped() {
+        try {
+            return System.getProperty("dmoj.input") != null;
+        } catch (final SecurityException e) {
+            return false;
+        }
+    }
+    
     private static final class FastScanner implements Closeable {
-        private final BufferedReader br;
-        private StringTokenizer st;
+        private static final int BUFFER_SIZE = 1 << 16;
+        private final InputStream in;
+        private final FileChannel channel;
+        private final byte[] buf = new byte[BUFFER_SIZE];
+        private ByteBuffer mapped;
+        private byte[] token = new byte[64];
+        private long position = 0;
+        private int ptr = 0;
+        private int len = 0;
         
         public FastScanner(final InputStream in) {
-            this.br = new BufferedReader(new InputStreamReader(in));
-            st = new StringTokenizer("");
+            this.in = in;
+            if (in instanceof FileInputStream && isMapped()) {
+                this.channel = ((FileInputStream) in).getChannel();
+                this.mapped = ByteBuffer.allocate(0);
+            } else {
+                this.channel = null;
+            }
+        }
+        
+        /**
+         * Refills {@code buf} from the stream or, in mapped mode, in bulk from
+         * the current window of the file, mapping the next one as needed.
+         */
+        private boolean fill() {
+            try {
+                if (this.channel != null) {
+                    if (!mapped.hasRemaining()) {
+                        final long size = this.channel.size();
+                        if (position >= size) {
+                            return false;
+                        }
+                        final long length = Math.min(size - position, Integer.MAX_VALUE);
+                        mapped = this.channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                        position += length;
+                    }
+                    len = Math.min(BUFFER_SIZE, mapped.remaining());
+                    mapped.get(buf, 0, len);
+                } else {
+                    len = this.in.read(buf, 0, BUFFER_SIZE);
+                    if (len <= 0) {
+                        len = 0;
+                        return false;
+                    }
+                }
+                ptr = 0;
+                return true;
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        
+        private int read() {
+            if (ptr == len && !fill()) {
+                return -1;
+            }
+            return buf[ptr++] & 0xff;
+        }
+        
+        private int skipWhitespace() {
+            int b = read();
+            while (b != -1 && b <= ' ') {
+                b = read();
+            }
+            if (b == -1) {
+                throw new NoSuchElementException();
+            }
+            return b;
         }
         
         public String next() {
-            while (!st.hasMoreTokens()) {
-                try {
-                    st = new StringTokenizer(br.readLine());
-                } catch (final IOException e) {
-                    throw new RuntimeException(e);
+            int b = skipWhitespace();
+            int n = 0;
+            while (b > ' ') {
+                if (n == token.length) {
+                    token = Arrays.copyOf(token, 2 * n);
                 }
+                token[n++] = (byte) b;
+                b = read();
             }
-            return st.nextToken();
+            return new String(token, 0, n);
         }
     
         public int nextInt() {
-            return Integer.parseInt(next());
+            int b = skipWhitespace();
+            final boolean negative = b == '-';
+            if (negative) {
+                b = read();
+            }
+            int ans = 0;
+            do {
+                if (b < '0' || b > '9') {
+                    throw new NumberFormatException();
+                }
+                ans = 10 * ans + (b - '0');
+                b = read();
+            } while (b > ' ');
+            return negative ? -ans : ans;
         }
         
         @SuppressWarnings("unused")
@@ -147,16 +239,152 @@ public class ${class_name} {
         
         @SuppressWarnings("unused")
         public long nextLong() {
-            return Long.parseLong(next());
+            int b = skipWhitespace();
+            final boolean negative = b == '-';
+            if (negative) {
+                b = read();
+            }
+            long ans = 0;
+            do {
+                if (b < '0' || b > '9') {
+                    throw new NumberFormatException();
+                }
+                ans = 10 * ans + (b - '0');
+                b = read();
+            } while (b > ' ');
+            return negative ? -ans : ans;
         }
 
         @Override
         public void close() {
             try {
-                this.br.close();
+                this.in.close();
             } catch (final IOException e) {
                 // ignore
             }
         }
     }
+    
+    private static final class FastWriter implements Flushable {
+        private static final int BUFFER_SIZE = 1 << 16;
+        private static final byte[] NEWLINE = System.lineSeparator().getBytes();
+        private final OutputStream out;
+        private final byte[] buf = new byte[BUFFER_SIZE];
+        private int pos = 0;
+        
+        public FastWriter(final OutputStream out) {
+            this.out = out;
+        }
+        
+        private void ensure(final int n) {
+            if (pos + n > BUFFER_SIZE) {
+                flushBuffer();
+            }
+        }
+        
+        private void flushBuffer() {
+            try {
+                this.out.write(buf, 0, pos);
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+            pos = 0;
+        }
+        
+        private void write(final byte[] b) {
+            ensure(b.length);
+            if (b.length > BUFFER_SIZE) {
+                try {
+                    this.out.write(b);
+                } catch (final IOException e) {
+                    throw new RuntimeException(e);
+                }
+                return;
+            }
+            System.arraycopy(b, 0, buf, pos, b.length);
+            pos += b.length;
+        }
+        
+        @SuppressWarnings("unused")
+        public void print(final char c) {
+            ensure(1);
+            buf[pos++] = (byte) c;
+        }
+        
+        public void print(final int i) {
+            print((long) i);
+        }
+        
+        public void print(final long l) {
+            ensure(20);
+            if (l < 0) {
+                buf[pos++] = '-';
+            }
+            long v = l < 0 ? l : -l;
+            final int start = pos;
+            do {
+                buf[pos++] = (byte) ('0' - v % 10);
+                v /= 10;
+            } while (v != 0);
+            for (int i = start, j = pos - 1; i < j; i++, j--) {
+                final byte t = buf[i];
+                buf[i] = buf[j];
+                buf[j] = t;
+            }
+        }
+        
+        @SuppressWarnings("unused")
+        public void print(final String s) {
+            write(s.getBytes());
+        }
+        
+        public void println() {
+            write(NEWLINE);
+        }
+        
+        public void println(final int i) {
+            print(i);
+            println();
+        }
+        
+        @SuppressWarnings("unused")
+        public void println(final long l) {
+            print(l);
+            println();
+        }
+        
+        @SuppressWarnings("unused")
+        public void println(final String s) {
+            print(s);
+            println();
+        }
+        
+        @SuppressWarnings("unused")
+        public void printIntArray(final int[] a, final char separator) {
+            for (int j = 0; j < a.length; j++) {
+                if (j > 0) {
+                    print(separator);
+                }
+                print(a[j]);
+            }
+        }
+        
+        @SuppressWarnings("unused")
+        public void printGrid(final int[][] grid) {
+            for (final int[] row : grid) {
+                printIntArray(row, ' ');
+                println();
+            }
+        }
+
+        @Override
+        public void flush() {
+            flushBuffer();
+            try {
+                this.out.flush();
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
 }